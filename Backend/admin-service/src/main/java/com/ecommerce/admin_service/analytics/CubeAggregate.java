@@ -0,0 +1,71 @@
+package com.ecommerce.admin_service.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Primitive accumulators for one scan over the sales cube
+public class CubeAggregate {
+    private final String[] categories;
+    private final String[] productNames;
+    private final double[] salesByCategory;
+    private final double[] salesByProduct;
+    private double totalSales;
+    private long lineCount;
+
+    CubeAggregate(String[] categories, int categoryCount, String[] productNames, int productCount) {
+        this.categories = categories;
+        this.productNames = productNames;
+        this.salesByCategory = new double[categoryCount];
+        this.salesByProduct = new double[productCount];
+    }
+
+    void add(int category, int product, double amount) {
+        salesByCategory[category] += amount;
+        salesByProduct[product] += amount;
+        totalSales += amount;
+        lineCount++;
+    }
+
+    // Combine the accumulators of another scan over the same cube view
+    CubeAggregate merge(CubeAggregate other) {
+        for (int i = 0; i < salesByCategory.length; i++) {
+            salesByCategory[i] += other.salesByCategory[i];
+        }
+        for (int i = 0; i < salesByProduct.length; i++) {
+            salesByProduct[i] += other.salesByProduct[i];
+        }
+        totalSales += other.totalSales;
+        lineCount += other.lineCount;
+        return this;
+    }
+
+    public double getTotalSales() {
+        return totalSales;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    // Decode the category accumulators, skipping categories with no sales in range
+    public Map<String, Double> getSalesByCategory() {
+        Map<String, Double> result = new HashMap<>();
+        for (int i = 0; i < salesByCategory.length; i++) {
+            if (salesByCategory[i] != 0.0) {
+                result.merge(categories[i], salesByCategory[i], Double::sum);
+            }
+        }
+        return result;
+    }
+
+    // Decode the product accumulators keyed by product name, as the reports expect
+    public Map<String, Double> getSalesByProduct() {
+        Map<String, Double> result = new HashMap<>();
+        for (int i = 0; i < salesByProduct.length; i++) {
+            if (salesByProduct[i] != 0.0) {
+                result.merge(productNames[i], salesByProduct[i], Double::sum);
+            }
+        }
+        return result;
+    }
+}
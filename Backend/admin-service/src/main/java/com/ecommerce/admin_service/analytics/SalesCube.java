@@ -0,0 +1,331 @@
+package com.ecommerce.admin_service.analytics;
+
+import com.ecommerce.admin_service.model.SalesData;
+import com.ecommerce.admin_service.repository.SalesDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+// Read-optimized, in-memory copy of the sales_data facts: parallel primitive columns with
+// dictionary-encoded product and category ids, so range/group-by scans avoid JPA and boxing.
+// Rows are kept in date-sorted runs: appends extend the last run, an out-of-order append (a replayed or
+// late order) starts a new one, and too many runs are merged back into one.
+@Component
+public class SalesCube implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesCube.class);
+    private static final int INITIAL_CAPACITY = 1024;
+    // Range queries binary-search every run, so runs are merged once there are more than this
+    private static final int MAX_RUNS = 16;
+
+    @Autowired
+    private SalesDataRepository salesDataRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.cube.enabled}")
+    private boolean enabled;
+
+    @Value("${analytics.cube.parallel-threshold}")
+    private int parallelThreshold;
+
+    @Value("${analytics.cube.segment-size}")
+    private int segmentSize;
+
+    // Writers are serialized; readers only ever see a published, immutable Columns view
+    private final Object writeLock = new Object();
+    private final Map<String, Integer> productDictionary = new HashMap<>();
+    private final Map<String, Integer> categoryDictionary = new HashMap<>();
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+    private volatile boolean ready;
+
+    // Runs before the web server and schedulers start, so no ingestion can race the initial load
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = salesDataRepository.streamAllFacts()) {
+                synchronized (writeLock) {
+                    Columns next = columns;
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        next = appendRow(next, (LocalDate) row[0], (String) row[1], (String) row[2],
+                                (String) row[3], (Integer) row[4], (Double) row[5]);
+                    }
+                    columns = next;
+                }
+            }
+        });
+        ready = true;
+        log.info("Loaded {} sales facts into the sales cube in {} ms",
+                columns.size, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    public int runCount() {
+        return columns.runCount;
+    }
+
+    // Append freshly committed sales rows; sorted by date first so a batch adds at most one run
+    public void append(List<SalesData> rows) {
+        if (!ready || rows.isEmpty()) {
+            return;
+        }
+        List<SalesData> byDate = new ArrayList<>(rows);
+        byDate.sort(Comparator.comparing(SalesData::getDate));
+        synchronized (writeLock) {
+            Columns next = columns;
+            for (SalesData row : byDate) {
+                next = appendRow(next, row.getDate(), row.getProductId(), row.getProductName(),
+                        row.getCategory(), row.getQuantity(), row.getAmount());
+            }
+            if (next.runCount > MAX_RUNS) {
+                long startedAt = System.nanoTime();
+                int runs = next.runCount;
+                next = next.mergeRuns();
+                log.info("Merged {} date-sorted runs of the sales cube ({} rows) in {} ms",
+                        runs, next.size, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+            columns = next;
+        }
+    }
+
+    // Sum amounts by category and product for facts dated within [startDate, endDate]
+    public CubeAggregate aggregate(LocalDate startDate, LocalDate endDate) {
+        Columns c = columns;
+        int fromDay = (int) startDate.toEpochDay();
+        int toDay = (int) endDate.toEpochDay();
+        CubeAggregate aggregate = new CubeAggregate(c.categories, c.categoryCount, c.productNames, c.productCount);
+        for (int run = 0; run < c.runCount; run++) {
+            int runEnd = run + 1 < c.runCount ? c.runStarts[run + 1] : c.size;
+            int from = lowerBound(c.epochDay, c.runStarts[run], runEnd, fromDay);
+            int to = lowerBound(c.epochDay, from, runEnd, toDay + 1);
+
+            // Wide ranges are split into row segments and aggregated on the fork-join pool
+            if (to - from > parallelThreshold) {
+                aggregate.merge(ForkJoinPool.commonPool().invoke(new AggregateTask(c, fromDay, toDay, from, to, segmentSize)));
+            } else if (to > from) {
+                aggregate.merge(scan(c, fromDay, toDay, from, to));
+            }
+        }
+        return aggregate;
+    }
+
+    private static CubeAggregate scan(Columns c, int fromDay, int toDay, int from, int to) {
+        CubeAggregate aggregate = new CubeAggregate(c.categories, c.categoryCount, c.productNames, c.productCount);
+        int[] epochDay = c.epochDay;
+        int[] product = c.product;
+        int[] category = c.category;
+        double[] amount = c.amount;
+        for (int i = from; i < to; i++) {
+            int day = epochDay[i];
+            if (day >= fromDay && day <= toDay) {
+                aggregate.add(category[i], product[i], amount[i]);
+            }
+        }
+        return aggregate;
+    }
+
+    // Caller holds writeLock
+    private Columns appendRow(Columns c, LocalDate date, String productId, String productName,
+                              String category, int quantity, double amount) {
+        if (c.size == c.epochDay.length) {
+            c = c.grow();
+        }
+        int day = (int) date.toEpochDay();
+        int productIndex = productDictionary.computeIfAbsent(productId, id -> productDictionary.size());
+        int categoryIndex = categoryDictionary.computeIfAbsent(category, name -> categoryDictionary.size());
+        if (productIndex == c.productIds.length || categoryIndex == c.categories.length) {
+            c = c.growDictionaries();
+        }
+        c.productIds[productIndex] = productId;
+        c.productNames[productIndex] = productName;
+        c.categories[categoryIndex] = category;
+
+        int i = c.size;
+        c.epochDay[i] = day;
+        c.product[i] = productIndex;
+        c.category[i] = categoryIndex;
+        c.quantity[i] = quantity;
+        c.amount[i] = amount;
+
+        int runCount = c.runCount;
+        if (i > 0 && c.epochDay[i - 1] > day) {
+            if (runCount == c.runStarts.length) {
+                c = c.growRuns();
+            }
+            c.runStarts[runCount++] = i;
+        }
+        return new Columns(c, i + 1, productDictionary.size(), categoryDictionary.size(), runCount);
+    }
+
+    // First index in [low, high) whose day is >= the given day
+    private static int lowerBound(int[] days, int low, int high, int day) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Halves the row range until segments are small enough, then merges the per-segment accumulators
+    private static final class AggregateTask extends RecursiveTask<CubeAggregate> {
+        private final Columns columns;
+        private final int fromDay;
+        private final int toDay;
+        private final int from;
+        private final int to;
+        private final int segmentSize;
+
+        AggregateTask(Columns columns, int fromDay, int toDay, int from, int to, int segmentSize) {
+            this.columns = columns;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.from = from;
+            this.to = to;
+            this.segmentSize = segmentSize;
+        }
+
+        @Override
+        protected CubeAggregate compute() {
+            if (to - from <= segmentSize) {
+                return scan(columns, fromDay, toDay, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(columns, fromDay, toDay, from, mid, segmentSize);
+            AggregateTask right = new AggregateTask(columns, fromDay, toDay, mid, to, segmentSize);
+            left.fork();
+            CubeAggregate rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    // Immutable view of the column arrays; slots at or beyond size are private to the writer
+    private static final class Columns {
+        final int[] epochDay;
+        final int[] product;
+        final int[] category;
+        final int[] quantity;
+        final double[] amount;
+        final String[] productIds;
+        final String[] productNames;
+        final String[] categories;
+        final int size;
+        final int productCount;
+        final int categoryCount;
+        // First row of each date-sorted run; the first run always starts at 0
+        final int[] runStarts;
+        final int runCount;
+
+        Columns(int capacity) {
+            this(new int[capacity], new int[capacity], new int[capacity], new int[capacity], new double[capacity],
+                    new String[64], new String[64], new String[16], 0, 0, 0, new int[MAX_RUNS + 1], 1);
+        }
+
+        Columns(Columns c, int size, int productCount, int categoryCount, int runCount) {
+            this(c.epochDay, c.product, c.category, c.quantity, c.amount,
+                    c.productIds, c.productNames, c.categories, size, productCount, categoryCount, c.runStarts, runCount);
+        }
+
+        Columns(int[] epochDay, int[] product, int[] category, int[] quantity, double[] amount,
+                String[] productIds, String[] productNames, String[] categories,
+                int size, int productCount, int categoryCount, int[] runStarts, int runCount) {
+            this.epochDay = epochDay;
+            this.product = product;
+            this.category = category;
+            this.quantity = quantity;
+            this.amount = amount;
+            this.productIds = productIds;
+            this.productNames = productNames;
+            this.categories = categories;
+            this.size = size;
+            this.productCount = productCount;
+            this.categoryCount = categoryCount;
+            this.runStarts = runStarts;
+            this.runCount = runCount;
+        }
+
+        Columns grow() {
+            int capacity = epochDay.length * 2;
+            return new Columns(Arrays.copyOf(epochDay, capacity), Arrays.copyOf(product, capacity),
+                    Arrays.copyOf(category, capacity), Arrays.copyOf(quantity, capacity),
+                    Arrays.copyOf(amount, capacity), productIds, productNames, categories,
+                    size, productCount, categoryCount, runStarts, runCount);
+        }
+
+        Columns growDictionaries() {
+            return new Columns(epochDay, product, category, quantity, amount,
+                    Arrays.copyOf(productIds, productIds.length * 2),
+                    Arrays.copyOf(productNames, productNames.length * 2),
+                    Arrays.copyOf(categories, categories.length * 2),
+                    size, productCount, categoryCount, runStarts, runCount);
+        }
+
+        Columns growRuns() {
+            return new Columns(epochDay, product, category, quantity, amount, productIds, productNames, categories,
+                    size, productCount, categoryCount, Arrays.copyOf(runStarts, runStarts.length * 2), runCount);
+        }
+
+        // Stable k-way merge of the runs into fresh arrays holding a single run; readers of this view are
+        // unaffected because nothing it references is modified
+        Columns mergeRuns() {
+            int capacity = epochDay.length;
+            int[] mergedDay = new int[capacity];
+            int[] mergedProduct = new int[capacity];
+            int[] mergedCategory = new int[capacity];
+            int[] mergedQuantity = new int[capacity];
+            double[] mergedAmount = new double[capacity];
+            int[] next = Arrays.copyOf(runStarts, runCount);
+            int[] end = new int[runCount];
+            for (int run = 0; run < runCount; run++) {
+                end[run] = run + 1 < runCount ? runStarts[run + 1] : size;
+            }
+            for (int out = 0; out < size; out++) {
+                // Earliest head; ties go to the earlier run, so rows of one day keep their append order
+                int best = -1;
+                for (int run = 0; run < runCount; run++) {
+                    if (next[run] < end[run] && (best < 0 || epochDay[next[run]] < epochDay[next[best]])) {
+                        best = run;
+                    }
+                }
+                int i = next[best]++;
+                mergedDay[out] = epochDay[i];
+                mergedProduct[out] = product[i];
+                mergedCategory[out] = category[i];
+                mergedQuantity[out] = quantity[i];
+                mergedAmount[out] = amount[i];
+            }
+            return new Columns(mergedDay, mergedProduct, mergedCategory, mergedQuantity, mergedAmount,
+                    productIds, productNames, categories, size, productCount, categoryCount, new int[MAX_RUNS + 1], 1);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.admin_service.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -9,6 +10,7 @@ public class RestTemplateConfig {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // java.net.http client: unlike HttpURLConnection it supports PATCH (order status proxies)
+        return new RestTemplate(new JdkClientHttpRequestFactory());
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,12 @@
 package com.ecommerce.admin_service.controller;
 
+import com.ecommerce.admin_service.dto.BulkStatusUpdateRequest;
+import com.ecommerce.admin_service.dto.BulkStatusUpdateResultDTO;
+import com.ecommerce.admin_service.dto.IngestionResultDTO;
 import com.ecommerce.admin_service.dto.OrderDTO;
+import com.ecommerce.admin_service.dto.OrderPageDTO;
 import com.ecommerce.admin_service.dto.ProductDTO;
+import com.ecommerce.admin_service.dto.ReportCacheStatsDTO;
 import com.ecommerce.admin_service.dto.SalesForecastDTO;
 import com.ecommerce.admin_service.dto.SalesReportDTO;
 import com.ecommerce.admin_service.service.AdminService;
@@ -12,7 +17,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -67,6 +74,23 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getAllOrders());
     }
 
+    @GetMapping("/orders/page")
+    public ResponseEntity<OrderPageDTO> getOrderPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            return ResponseEntity.ok(adminService.getOrderPage(cursor, size, status, customerEmail, from, to, direction));
+        } catch (HttpClientErrorException e) {
+            // e.g. a malformed cursor or unknown status, rejected by order-service
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+    }
+
     @GetMapping("/orders/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable String id) {
         OrderDTO order = adminService.getOrderById(id);
@@ -84,6 +108,19 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @PatchMapping("/orders/status")
+    public ResponseEntity<BulkStatusUpdateResultDTO> updateOrderStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        if (request.getIds() == null || request.getExpectedStatus() == null || request.getNewStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(adminService.updateOrderStatuses(request));
+        } catch (HttpClientErrorException e) {
+            // e.g. an unknown status name, rejected by order-service
+            return ResponseEntity.status(e.getStatusCode()).build();
+        }
+    }
+
     // Sales reports
     @GetMapping("/reports/sales")
     public ResponseEntity<SalesReportDTO> getSalesReport(
@@ -92,6 +129,11 @@ public class AdminController {
         return ResponseEntity.ok(reportService.generateSalesReport(startDate, endDate));
     }
 
+    @GetMapping("/reports/cache/stats")
+    public ResponseEntity<ReportCacheStatsDTO> getReportCacheStats() {
+        return ResponseEntity.ok(reportService.getCacheStats());
+    }
+
     // Sales forecasting
     @GetMapping("/forecasts/sales")
     public ResponseEntity<SalesForecastDTO> getSalesForecast(
@@ -101,8 +143,7 @@ public class AdminController {
 
     // Manually process sales data (could be scheduled with Spring @Scheduled)
     @PostMapping("/data/process-sales")
-    public ResponseEntity<Void> processSalesData() {
-        adminService.processDailySalesData();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<IngestionResultDTO> processSalesData() {
+        return ResponseEntity.ok(adminService.processDailySalesData());
     }
 }
\ No newline at end of file
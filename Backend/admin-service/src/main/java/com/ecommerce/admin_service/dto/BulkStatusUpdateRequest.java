@@ -0,0 +1,38 @@
+package com.ecommerce.admin_service.dto;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    private List<String> ids;
+    private String expectedStatus;
+    private String newStatus;
+
+    // Default constructor
+    public BulkStatusUpdateRequest() {
+    }
+
+    // Getters and setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public String getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(String expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public void setNewStatus(String newStatus) {
+        this.newStatus = newStatus;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.admin_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStatusUpdateResultDTO {
+    private int requested;
+    private int updated;
+    // Ids that were unknown or not in the expected status
+    private List<String> notTransitioned = new ArrayList<>();
+
+    // Default constructor
+    public BulkStatusUpdateResultDTO() {
+    }
+
+    // Getters and setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<String> getNotTransitioned() {
+        return notTransitioned;
+    }
+
+    public void setNotTransitioned(List<String> notTransitioned) {
+        this.notTransitioned = notTransitioned;
+    }
+}
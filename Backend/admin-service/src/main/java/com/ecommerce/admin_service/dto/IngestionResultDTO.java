@@ -0,0 +1,45 @@
+package com.ecommerce.admin_service.dto;
+
+public class IngestionResultDTO {
+    private int ordersProcessed;
+    private int rowsWritten;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // Default constructor
+    public IngestionResultDTO() {
+    }
+
+    // Getters and setters
+    public int getOrdersProcessed() {
+        return ordersProcessed;
+    }
+
+    public void setOrdersProcessed(int ordersProcessed) {
+        this.ordersProcessed = ordersProcessed;
+    }
+
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(int rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.admin_service.dto;
+
+import java.time.LocalDateTime;
+
+public class OrderEventDTO {
+    private Long id;
+    private String orderId;
+    private String eventType;
+    private LocalDateTime createdAt;
+    private OrderDTO order;
+
+    // Default constructor
+    public OrderEventDTO() {
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderDTO order) {
+        this.order = order;
+    }
+}
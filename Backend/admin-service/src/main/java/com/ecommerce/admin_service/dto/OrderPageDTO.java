@@ -0,0 +1,38 @@
+package com.ecommerce.admin_service.dto;
+
+import java.util.List;
+
+public class OrderPageDTO {
+    private List<OrderDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Default constructor
+    public OrderPageDTO() {
+    }
+
+    // Getters and setters
+    public List<OrderDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
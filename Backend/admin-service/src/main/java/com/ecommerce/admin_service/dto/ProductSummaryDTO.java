@@ -0,0 +1,36 @@
+package com.ecommerce.admin_service.dto;
+
+public class ProductSummaryDTO {
+    private String id;
+    private String name;
+    private String category;
+
+    // Default constructor
+    public ProductSummaryDTO() {
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
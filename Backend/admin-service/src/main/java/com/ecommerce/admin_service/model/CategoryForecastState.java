@@ -0,0 +1,86 @@
+package com.ecommerce.admin_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Holt (level + trend) smoothing state per category, advanced one day at a time by ingestion
+@Entity
+@Table(name = "category_forecast_states")
+public class CategoryForecastState {
+    @Id
+    private String category;
+
+    private double level;
+    private double trend;
+    private LocalDate lastDate;
+    private long observations;
+
+    // Default constructor
+    public CategoryForecastState() {
+    }
+
+    public CategoryForecastState(String category) {
+        this.category = category;
+    }
+
+    // Fold the next day's sales into the model
+    public void observe(LocalDate date, double amount, double alpha, double beta) {
+        if (observations == 0) {
+            level = amount;
+            trend = 0.0;
+        } else {
+            double previousLevel = level;
+            level = alpha * amount + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+        }
+        lastDate = date;
+        observations++;
+    }
+
+    // Predicted daily sales for a future date, never negative
+    public double predict(LocalDate date) {
+        long horizon = date.toEpochDay() - lastDate.toEpochDay();
+        return Math.max(0.0, level + horizon * trend);
+    }
+
+    // Getters and setters
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public double getLevel() {
+        return level;
+    }
+
+    public void setLevel(double level) {
+        this.level = level;
+    }
+
+    public double getTrend() {
+        return trend;
+    }
+
+    public void setTrend(double trend) {
+        this.trend = trend;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public long getObservations() {
+        return observations;
+    }
+
+    public void setObservations(long observations) {
+        this.observations = observations;
+    }
+}
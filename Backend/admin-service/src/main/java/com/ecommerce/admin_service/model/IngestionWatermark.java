@@ -0,0 +1,51 @@
+package com.ecommerce.admin_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ingestion_watermarks")
+public class IngestionWatermark {
+    @Id
+    private String name;
+
+    // Upper bound (inclusive) of the last successfully ingested order window, in order-service recording time
+    private LocalDateTime lastProcessedAt;
+
+    // Id of the last applied order event, for feeds consumed by cursor
+    private Long lastEventId;
+
+    // Default constructor
+    public IngestionWatermark() {
+    }
+
+    public IngestionWatermark(String name, LocalDateTime lastProcessedAt) {
+        this.name = name;
+        this.lastProcessedAt = lastProcessedAt;
+    }
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getLastProcessedAt() {
+        return lastProcessedAt;
+    }
+
+    public void setLastProcessedAt(LocalDateTime lastProcessedAt) {
+        this.lastProcessedAt = lastProcessedAt;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.admin_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Daily per-category rollup of sales_data, maintained at ingest time
+@Entity
+@Table(name = "sales_daily_by_category",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"date", "category"}))
+public class SalesDailyByCategory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_daily_by_category_seq")
+    @SequenceGenerator(name = "sales_daily_by_category_seq", sequenceName = "sales_daily_by_category_seq", allocationSize = 50)
+    private Long id;
+
+    private LocalDate date;
+    private String category;
+    private double totalAmount;
+    private long totalQuantity;
+    private long lineCount;
+
+    // Default constructor
+    public SalesDailyByCategory() {
+    }
+
+    public SalesDailyByCategory(LocalDate date, String category) {
+        this.date = date;
+        this.category = category;
+    }
+
+    // Fold one sales line into this rollup
+    public void add(SalesData salesData) {
+        totalAmount += salesData.getAmount();
+        totalQuantity += salesData.getQuantity();
+        lineCount++;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(long lineCount) {
+        this.lineCount = lineCount;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.admin_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Daily per-product rollup of sales_data, maintained at ingest time
+@Entity
+@Table(name = "sales_daily_by_product",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"date", "product_id"}))
+public class SalesDailyByProduct {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_daily_by_product_seq")
+    @SequenceGenerator(name = "sales_daily_by_product_seq", sequenceName = "sales_daily_by_product_seq", allocationSize = 100)
+    private Long id;
+
+    private LocalDate date;
+    private String productId;
+    private String productName;
+    private String category;
+    private double totalAmount;
+    private long totalQuantity;
+    private long lineCount;
+
+    // Default constructor
+    public SalesDailyByProduct() {
+    }
+
+    public SalesDailyByProduct(LocalDate date, String productId) {
+        this.date = date;
+        this.productId = productId;
+    }
+
+    // Fold one sales line into this rollup; the latest name and category win
+    public void add(SalesData salesData) {
+        productName = salesData.getProductName();
+        category = salesData.getCategory();
+        totalAmount += salesData.getAmount();
+        totalQuantity += salesData.getQuantity();
+        lineCount++;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public void setLineCount(long lineCount) {
+        this.lineCount = lineCount;
+    }
+}
@@ -4,12 +4,21 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "sales_data")
+@Table(name = "sales_data", indexes = {
+        @Index(name = "idx_sales_data_date_category", columnList = "date, category"),
+        @Index(name = "idx_sales_data_date_product", columnList = "date, product_id"),
+        @Index(name = "idx_sales_data_order_id", columnList = "order_id")
+})
 public class SalesData {
+    // Pooled sequence ids let Hibernate batch inserts (IDENTITY forces one INSERT per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_data_seq")
+    @SequenceGenerator(name = "sales_data_seq", sequenceName = "sales_data_seq", allocationSize = 100)
     private Long id;
 
+    // Source order, used to skip orders that were already ingested
+    private String orderId;
+
     private LocalDate date;
     private String productId;
     private String productName;
@@ -30,6 +39,14 @@ public class SalesData {
         this.id = id;
     }
 
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -2,12 +2,15 @@ package com.ecommerce.admin_service.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sales_forecasts")
+@Table(name = "sales_forecasts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"forecast_date", "forecast_type", "category"}))
 public class SalesForecast {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_forecasts_seq")
+    @SequenceGenerator(name = "sales_forecasts_seq", sequenceName = "sales_forecasts_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate forecastDate;
@@ -15,6 +18,7 @@ public class SalesForecast {
     private String category;
     private double predictedAmount;
     private double confidenceLevel;
+    private LocalDateTime generatedAt;
 
     // Default constructor
     public SalesForecast() {
@@ -68,4 +72,12 @@ public class SalesForecast {
     public void setConfidenceLevel(double confidenceLevel) {
         this.confidenceLevel = confidenceLevel;
     }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.ecommerce.admin_service.repository;
+
+import com.ecommerce.admin_service.model.CategoryForecastState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+
+@Repository
+public interface CategoryForecastStateRepository extends JpaRepository<CategoryForecastState, String> {
+    @Query("SELECT MAX(s.lastDate) FROM CategoryForecastState s")
+    LocalDate findLastFoldedDate();
+}
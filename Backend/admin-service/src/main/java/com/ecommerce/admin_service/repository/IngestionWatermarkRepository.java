@@ -0,0 +1,14 @@
+package com.ecommerce.admin_service.repository;
+
+import com.ecommerce.admin_service.model.IngestionWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface IngestionWatermarkRepository extends JpaRepository<IngestionWatermark, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<IngestionWatermark> findWithLockByName(String name);
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.admin_service.repository;
+
+import com.ecommerce.admin_service.model.SalesDailyByCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalesDailyByCategoryRepository extends JpaRepository<SalesDailyByCategory, Long> {
+    List<SalesDailyByCategory> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    List<SalesDailyByCategory> findByDateIn(Collection<LocalDate> dates);
+
+    // Per-category amount and line count; report totals are the sum of these rows
+    @Query("SELECT r.category, SUM(r.totalAmount), SUM(r.lineCount) FROM SalesDailyByCategory r WHERE r.date BETWEEN ?1 AND ?2 GROUP BY r.category")
+    List<Object[]> sumByCategoryBetweenDates(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT MIN(r.date) FROM SalesDailyByCategory r")
+    LocalDate findFirstDate();
+
+    @Query("SELECT COALESCE(SUM(r.lineCount), 0) FROM SalesDailyByCategory r")
+    long countLines();
+
+    // Rebuild the rollup from the raw facts in one statement
+    @Modifying
+    @Query("INSERT INTO SalesDailyByCategory (date, category, totalAmount, totalQuantity, lineCount) " +
+            "SELECT s.date, s.category, SUM(s.amount), SUM(s.quantity), COUNT(s) FROM SalesData s GROUP BY s.date, s.category")
+    int insertFromSalesData();
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.admin_service.repository;
+
+import com.ecommerce.admin_service.model.SalesDailyByProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalesDailyByProductRepository extends JpaRepository<SalesDailyByProduct, Long> {
+    List<SalesDailyByProduct> findByDateInAndProductIdIn(Collection<LocalDate> dates, Collection<String> productIds);
+
+    @Query("SELECT r.productName, SUM(r.totalAmount) FROM SalesDailyByProduct r WHERE r.date BETWEEN ?1 AND ?2 GROUP BY r.productName")
+    List<Object[]> sumByProductBetweenDates(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(r.lineCount), 0) FROM SalesDailyByProduct r")
+    long countLines();
+
+    // Rebuild the rollup from the raw facts in one statement; name and category are per product, so MAX picks the value
+    @Modifying
+    @Query("INSERT INTO SalesDailyByProduct (date, productId, productName, category, totalAmount, totalQuantity, lineCount) " +
+            "SELECT s.date, s.productId, MAX(s.productName), MAX(s.category), SUM(s.amount), SUM(s.quantity), COUNT(s) " +
+            "FROM SalesData s GROUP BY s.date, s.productId")
+    int insertFromSalesData();
+}
@@ -3,9 +3,14 @@ package com.ecommerce.admin_service.repository;
 import com.ecommerce.admin_service.model.SalesData;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface SalesDataRepository extends JpaRepository<SalesData, Long> {
@@ -18,4 +23,12 @@ public interface SalesDataRepository extends JpaRepository<SalesData, Long> {
 
     @Query("SELECT s.productId, s.productName, SUM(s.amount) FROM SalesData s WHERE s.date BETWEEN ?1 AND ?2 GROUP BY s.productId, s.productName ORDER BY SUM(s.amount) DESC")
     List<Object[]> getTopProductsBetweenDates(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT DISTINCT s.orderId FROM SalesData s WHERE s.orderId IN ?1")
+    Set<String> findIngestedOrderIds(Collection<String> orderIds);
+
+    // Scalar fact columns in date order, streamed to load the in-memory sales cube
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT s.date, s.productId, s.productName, s.category, s.quantity, s.amount FROM SalesData s ORDER BY s.date, s.id")
+    Stream<Object[]> streamAllFacts();
 }
\ No newline at end of file
@@ -1,45 +1,124 @@
 package com.ecommerce.admin_service.service;
 
+import com.ecommerce.admin_service.dto.BulkStatusUpdateRequest;
+import com.ecommerce.admin_service.dto.BulkStatusUpdateResultDTO;
+import com.ecommerce.admin_service.dto.IngestionResultDTO;
 import com.ecommerce.admin_service.dto.OrderDTO;
 import com.ecommerce.admin_service.dto.OrderItemDTO;
+import com.ecommerce.admin_service.dto.OrderPageDTO;
 import com.ecommerce.admin_service.dto.ProductDTO;
+import com.ecommerce.admin_service.dto.ProductSummaryDTO;
+import com.ecommerce.admin_service.model.IngestionWatermark;
 import com.ecommerce.admin_service.model.SalesData;
+import com.ecommerce.admin_service.repository.IngestionWatermarkRepository;
 import com.ecommerce.admin_service.repository.SalesDataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class AdminService {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminService.class);
+
+    private static final String SALES_WATERMARK = "sales-data";
+    private static final String UNKNOWN_CATEGORY = "Uncategorized";
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private SalesDataWriter salesDataWriter;
+
+    @Autowired
+    private IngestionWatermarkRepository watermarkRepository;
+
     @Autowired
     private SalesDataRepository salesDataRepository;
 
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Value("${product.service.url}")
     private String productServiceUrl;
 
     @Value("${order.service.url}")
     private String orderServiceUrl;
 
+    @Value("${sales.ingestion.chunk-size}")
+    private int chunkSize;
+
+    @Value("${sales.ingestion.commit-lag-ms}")
+    private long commitLagMs;
+
+    // Last catalog downloaded from product-service and its ETag
+    private volatile CachedCatalog cachedCatalog;
+
+    private record CachedCatalog(String eTag, List<ProductDTO> products) {
+    }
+
     // Product-related operations
+
+    // Conditional GET against product-service's catalog ETag: the catalog is only downloaded again when it changed
     public List<ProductDTO> getAllProducts() {
+        CachedCatalog cached = cachedCatalog;
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
         ResponseEntity<List<ProductDTO>> response = restTemplate.exchange(
                 productServiceUrl + "/api/products",
                 HttpMethod.GET,
-                null,
+                new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<ProductDTO>>() {}
         );
-        return response.getBody();
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return cached.products();
+        }
+        List<ProductDTO> products = response.getBody();
+        String eTag = response.getHeaders().getETag();
+        if (products != null && eTag != null) {
+            cachedCatalog = new CachedCatalog(eTag, List.copyOf(products));
+        }
+        return products;
     }
 
     public ProductDTO getProductById(String id) {
@@ -49,6 +128,19 @@ public class AdminService {
         );
     }
 
+    public Map<String, ProductSummaryDTO> getProductSummaries(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        ResponseEntity<Map<String, ProductSummaryDTO>> response = restTemplate.exchange(
+                productServiceUrl + "/api/products/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(ids),
+                new ParameterizedTypeReference<Map<String, ProductSummaryDTO>>() {}
+        );
+        return response.getBody() != null ? response.getBody() : Map.of();
+    }
+
     public ProductDTO createProduct(ProductDTO productDTO) {
         return restTemplate.postForObject(
                 productServiceUrl + "/api/products",
@@ -79,6 +171,22 @@ public class AdminService {
         return response.getBody();
     }
 
+    // Pass-through to order-service's keyset-paginated listing
+    public OrderPageDTO getOrderPage(String cursor, int size, String status, String customerEmail,
+                                     LocalDateTime from, LocalDateTime to, String direction) {
+        String url = UriComponentsBuilder.fromUriString(orderServiceUrl + "/api/orders/page")
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParam("size", size)
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .queryParamIfPresent("customerEmail", Optional.ofNullable(customerEmail))
+                .queryParamIfPresent("from", Optional.ofNullable(from))
+                .queryParamIfPresent("to", Optional.ofNullable(to))
+                .queryParam("direction", direction)
+                .encode()
+                .toUriString();
+        return restTemplate.getForObject(URI.create(url), OrderPageDTO.class);
+    }
+
     public OrderDTO getOrderById(String id) {
         return restTemplate.getForObject(
                 orderServiceUrl + "/api/orders/" + id,
@@ -94,42 +202,155 @@ public class AdminService {
         );
     }
 
-    // Process orders to generate sales data
-    public void processDailySalesData() {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
+    // Single call to order-service's set-based bulk transition
+    public BulkStatusUpdateResultDTO updateOrderStatuses(BulkStatusUpdateRequest request) {
+        return restTemplate.patchForObject(
+                orderServiceUrl + "/api/orders/status",
+                request,
+                BulkStatusUpdateResultDTO.class
+        );
+    }
 
-        // Fetch yesterday's orders
-        ResponseEntity<List<OrderDTO>> response = restTemplate.exchange(
-                orderServiceUrl + "/api/orders",
+    // Process orders stored since the last successful run to generate sales data. The window is on order-service's
+    // recording time, not the order date, so replayed orders with historical dates are still picked up. Each chunk commits on its
+    // own so memory stays flat however large the window is; a run that fails part way is simply repeated,
+    // since orders that already have sales data are skipped.
+    public IngestionResultDTO processDailySalesData() {
+        long startedAt = System.nanoTime();
+        IngestionWatermark watermark = watermarkRepository.findById(SALES_WATERMARK)
+                .orElseGet(() -> new IngestionWatermark(SALES_WATERMARK, null));
+
+        // First run covers yesterday, matching the original daily window
+        LocalDateTime from = watermark.getLastProcessedAt() != null
+                ? watermark.getLastProcessedAt().plus(1, ChronoUnit.MICROS)
+                : LocalDate.now().minusDays(1).atStartOfDay();
+        // An order is stamped before its transaction commits, so trail now by the commit lag; an order still
+        // in flight at the window end would otherwise fall behind the watermark and never be exported
+        LocalDateTime to = LocalDateTime.now().minus(commitLagMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MICROS);
+        if (!to.isAfter(from)) {
+            return new IngestionResultDTO();
+        }
+
+        // Stream only the orders recorded inside the new window, ingesting them chunk by chunk
+        String url = UriComponentsBuilder.fromUriString(orderServiceUrl + "/api/orders/export")
+                .queryParam("from", from)
+                .queryParam("to", to)
+                .queryParam("window", "recorded")
+                .toUriString();
+        IngestionResultDTO result = restTemplate.execute(
+                url,
                 HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<OrderDTO>>() {}
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> ingestOrderStream(response.getBody())
         );
 
-        List<OrderDTO> orders = response.getBody();
-
-        if (orders != null) {
-            for (OrderDTO order : orders) {
-                // Check if the order was created yesterday
-                LocalDate orderDate = order.getOrderDate().toLocalDate();
-                if (orderDate.equals(yesterday)) {
-                    // Process order items and save as sales data
-                    for (OrderItemDTO item : order.getItems()) {
-                        // Fetch product details to get category
-                        ProductDTO product = getProductById(item.getProductId());
-
-                        SalesData salesData = new SalesData();
-                        salesData.setDate(orderDate);
-                        salesData.setProductId(item.getProductId());
-                        salesData.setProductName(item.getProductName());
-                        salesData.setCategory(product.getCategory());
-                        salesData.setQuantity(item.getQuantity());
-                        salesData.setAmount(item.getTotalPrice());
-
-                        salesDataRepository.save(salesData);
-                    }
-                }
+        // Advance the watermark only once the whole window has been stored
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            IngestionWatermark locked = lockSalesIngestion();
+            if (locked.getLastProcessedAt() == null || locked.getLastProcessedAt().isBefore(to)) {
+                locked.setLastProcessedAt(to);
+                watermarkRepository.save(locked);
+            }
+        });
+
+        // Every order recorded before the window end is stored now; a replay of older days arriving later
+        // refolds the models when it is written
+        advanceForecastModels(to);
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        int rowsWritten = result.getRowsWritten();
+        result.setElapsedMillis(elapsedMillis);
+        result.setRowsPerSecond(elapsedMillis > 0 ? rowsWritten * 1000.0 / elapsedMillis : rowsWritten);
+        log.info("Ingested {} sales rows from {} orders in {} ms ({} rows/sec)",
+                rowsWritten, result.getOrdersProcessed(), elapsedMillis, String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    // Read the NDJSON order export line by line, never holding more than one chunk of orders
+    private IngestionResultDTO ingestOrderStream(InputStream body) throws IOException {
+        IngestionResultDTO result = new IngestionResultDTO();
+        List<OrderDTO> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(objectMapper.readValue(line, OrderDTO.class));
+            if (chunk.size() == chunkSize) {
+                result.setRowsWritten(result.getRowsWritten() + ingestInOwnTransaction(chunk));
+                result.setOrdersProcessed(result.getOrdersProcessed() + chunk.size());
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.setRowsWritten(result.getRowsWritten() + ingestInOwnTransaction(chunk));
+            result.setOrdersProcessed(result.getOrdersProcessed() + chunk.size());
+        }
+        return result;
+    }
+
+    private int ingestInOwnTransaction(List<OrderDTO> chunk) {
+        return new TransactionTemplate(transactionManager).execute(status -> ingestOrders(chunk));
+    }
+
+    // Turn one chunk of orders into sales data, resolving all of its products in one call.
+    // Shared by the pull export and the order event feed; orders that already have sales data are skipped,
+    // so redelivered orders are never counted twice. Must run inside the caller's transaction.
+    public int ingestOrders(List<OrderDTO> orders) {
+        lockSalesIngestion();
+        Map<String, OrderDTO> byId = new LinkedHashMap<>();
+        for (OrderDTO order : orders) {
+            byId.putIfAbsent(order.getId(), order);
+        }
+        salesDataRepository.findIngestedOrderIds(byId.keySet()).forEach(byId::remove);
+        if (byId.isEmpty()) {
+            return 0;
+        }
+        orders = new ArrayList<>(byId.values());
+
+        Set<String> productIds = orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .map(OrderItemDTO::getProductId)
+                .collect(Collectors.toSet());
+        Map<String, ProductSummaryDTO> products = getProductSummaries(productIds);
+
+        List<SalesData> rows = new ArrayList<>();
+        for (OrderDTO order : orders) {
+            LocalDate orderDate = order.getOrderDate().toLocalDate();
+            // Process order items and save as sales data
+            for (OrderItemDTO item : order.getItems()) {
+                ProductSummaryDTO product = products.get(item.getProductId());
+
+                SalesData salesData = new SalesData();
+                salesData.setOrderId(order.getId());
+                salesData.setDate(orderDate);
+                salesData.setProductId(item.getProductId());
+                salesData.setProductName(item.getProductName());
+                // Products deleted since the order was placed no longer have a category
+                salesData.setCategory(product != null ? product.getCategory() : UNKNOWN_CATEGORY);
+                salesData.setQuantity(item.getQuantity());
+                salesData.setAmount(item.getTotalPrice());
+
+                rows.add(salesData);
             }
         }
+        return salesDataWriter.writeChunk(rows);
+    }
+
+    // Fold the days ingestion has fully passed into the per-category forecast models. Taken under the
+    // ingestion lock so the fold never runs beside another fold or a chunk that is still writing rollups.
+    public void advanceForecastModels(LocalDateTime ingestedThrough) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            lockSalesIngestion();
+            forecastService.advanceModels(ingestedThrough.toLocalDate().minusDays(1));
+        });
+    }
+
+    // Both ingestion paths hold this row lock until commit, so each dedupes against the other's committed orders
+    private IngestionWatermark lockSalesIngestion() {
+        // A concurrent first insert fails on the primary key instead of letting both proceed
+        return watermarkRepository.findWithLockByName(SALES_WATERMARK)
+                .orElseGet(() -> watermarkRepository.saveAndFlush(new IngestionWatermark(SALES_WATERMARK, null)));
     }
 }
\ No newline at end of file
@@ -1,65 +1,222 @@
 package com.ecommerce.admin_service.service;
 
+import com.ecommerce.admin_service.analytics.SalesCube;
 import com.ecommerce.admin_service.dto.SalesForecastDTO;
-import com.ecommerce.admin_service.model.SalesData;
+import com.ecommerce.admin_service.model.CategoryForecastState;
+import com.ecommerce.admin_service.model.SalesDailyByCategory;
 import com.ecommerce.admin_service.model.SalesForecast;
-import com.ecommerce.admin_service.repository.SalesDataRepository;
+import com.ecommerce.admin_service.repository.CategoryForecastStateRepository;
+import com.ecommerce.admin_service.repository.SalesDailyByCategoryRepository;
 import com.ecommerce.admin_service.repository.SalesForecastRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ForecastService {
 
+    private static final Logger log = LoggerFactory.getLogger(ForecastService.class);
+
+    @Autowired
+    private SalesCube salesCube;
+
     @Autowired
-    private SalesDataRepository salesDataRepository;
+    private SalesDailyByCategoryRepository categoryRollupRepository;
 
     @Autowired
     private SalesForecastRepository forecastRepository;
 
-    public SalesForecastDTO generateForecast(String forecastType) {
+    @Autowired
+    private CategoryForecastStateRepository stateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${forecast.holt.alpha}")
+    private double alpha;
+
+    @Value("${forecast.holt.beta}")
+    private double beta;
+
+    // When the forecast inputs last changed: a day folded into the models, the models rebuilt, or, while there
+    // are no models, new sales data for the moving average. Stored forecasts generated before this are stale.
+    private volatile LocalDateTime inputsChangedAt;
+
+    // Whether Holt models exist; null until first needed
+    private volatile Boolean modelsBuilt;
+
+    // Serialized around the whole transaction, commit included: a concurrent caller must not look for stored
+    // rows before the first caller's inserts are visible, or both insert the same (date, type, category)
+    public synchronized SalesForecastDTO generateForecast(String forecastType) {
+        return new TransactionTemplate(transactionManager).execute(status -> generateForecastInTransaction(forecastType));
+    }
+
+    private SalesForecastDTO generateForecastInTransaction(String forecastType) {
         LocalDate today = LocalDate.now();
         LocalDate forecastDate = today.plusDays(1); // Forecast for tomorrow
 
-        // Retrieve historical data for the last 30 days
-        LocalDate startDate = today.minusDays(30);
-        List<SalesData> historicalData = salesDataRepository.findByDateBetween(startDate, today);
+        // Serve the stored forecast unless newer sales data has arrived since it was generated
+        List<SalesForecast> stored = forecastRepository.findByForecastDateAndForecastType(forecastDate, forecastType);
+        if (!stored.isEmpty() && isFresh(stored)) {
+            return toDTO(forecastDate, forecastType, stored);
+        }
 
-        // Group data by category
-        Map<String, List<SalesData>> dataByCategory = historicalData.stream()
-                .collect(Collectors.groupingBy(SalesData::getCategory));
+        // Predicted daily sales per category: Holt models when ingestion has built them,
+        // otherwise a simple moving average over the last 30 days
+        Map<String, Double> predictions = predictFromModels(forecastDate);
+        if (predictions.isEmpty()) {
+            predictions = predictFromMovingAverage(today);
+        }
 
-        // Calculate forecast by category using simple moving average
-        Map<String, Double> forecastByCategory = new HashMap<>();
-        double predictedTotal = 0.0;
+        // Upsert one row per category: update what is stored, insert the rest, drop vanished categories
+        Map<String, SalesForecast> existing = stored.stream()
+                .collect(Collectors.toMap(SalesForecast::getCategory, Function.identity()));
+        LocalDateTime generatedAt = LocalDateTime.now();
+        List<SalesForecast> forecasts = new ArrayList<>();
 
-        for (Map.Entry<String, List<SalesData>> entry : dataByCategory.entrySet()) {
+        for (Map.Entry<String, Double> entry : predictions.entrySet()) {
             String category = entry.getKey();
-            List<SalesData> categoryData = entry.getValue();
-
-            // Calculate average daily sales
-            double totalCategorySales = categoryData.stream()
-                    .mapToDouble(SalesData::getAmount)
-                    .sum();
-            double averageDailySales = totalCategorySales / 30.0;
-
-            // Create forecast entry
-            SalesForecast forecast = new SalesForecast();
-            forecast.setForecastDate(forecastDate);
-            forecast.setForecastType(forecastType);
-            forecast.setCategory(category);
-            forecast.setPredictedAmount(averageDailySales);
+            double predictedAmount = entry.getValue();
+
+            SalesForecast forecast = existing.remove(category);
+            if (forecast == null) {
+                forecast = new SalesForecast();
+                forecast.setForecastDate(forecastDate);
+                forecast.setForecastType(forecastType);
+                forecast.setCategory(category);
+            }
+            forecast.setPredictedAmount(predictedAmount);
             forecast.setConfidenceLevel(0.8); // Simplified confidence level
+            forecast.setGeneratedAt(generatedAt);
+            forecasts.add(forecast);
+        }
 
-            forecastRepository.save(forecast);
+        forecastRepository.deleteAllInBatch(existing.values());
+        forecastRepository.saveAll(forecasts);
 
-            forecastByCategory.put(category, averageDailySales);
-            predictedTotal += averageDailySales;
+        return toDTO(forecastDate, forecastType, forecasts);
+    }
+
+    // Fold every complete day up to and including the given date into the per-category models.
+    // Each day is folded once, so a forecast costs O(categories) instead of a 30-day scan.
+    // Called through AdminService.advanceForecastModels, which holds the ingestion lock.
+    @Transactional
+    public void advanceModels(LocalDate through) {
+        Map<String, CategoryForecastState> states = stateRepository.findAll().stream()
+                .collect(Collectors.toMap(CategoryForecastState::getCategory, Function.identity()));
+        LocalDate start = states.values().stream()
+                .map(state -> state.getLastDate().plusDays(1))
+                .min(LocalDate::compareTo)
+                .orElseGet(() -> categoryRollupRepository.findFirstDate());
+        if (start == null || start.isAfter(through)) {
+            return;
+        }
+
+        // Daily totals per category for the days not yet folded into every model
+        Map<String, Map<LocalDate, Double>> dailySales = new HashMap<>();
+        for (SalesDailyByCategory rollup : categoryRollupRepository.findByDateBetween(start, through)) {
+            dailySales.computeIfAbsent(rollup.getCategory(), c -> new HashMap<>())
+                    .put(rollup.getDate(), rollup.getTotalAmount());
+        }
+
+        // New categories start from their first day with sales; days without sales count as zero
+        for (Map.Entry<String, Map<LocalDate, Double>> entry : dailySales.entrySet()) {
+            if (!states.containsKey(entry.getKey())) {
+                CategoryForecastState state = new CategoryForecastState(entry.getKey());
+                state.setLastDate(Collections.min(entry.getValue().keySet()).minusDays(1));
+                states.put(entry.getKey(), state);
+            }
+        }
+        for (CategoryForecastState state : states.values()) {
+            Map<LocalDate, Double> days = dailySales.getOrDefault(state.getCategory(), Map.of());
+            for (LocalDate date = state.getLastDate().plusDays(1); !date.isAfter(through); date = date.plusDays(1)) {
+                state.observe(date, days.getOrDefault(date, 0.0), alpha, beta);
+            }
+        }
+        stateRepository.saveAll(states.values());
+        onModelsChanged(!states.isEmpty());
+    }
+
+    // Rows were written for days from earliestDate on. Days the models have already folded would never see them
+    // (e.g. a replay of historical orders), and Holt state cannot be rewound, so the models are rebuilt from the
+    // rollups up to the day they had reached. Runs in the writer's transaction, under the ingestion lock.
+    @Transactional
+    public void onSalesDataWritten(LocalDate earliestDate) {
+        LocalDate foldedThrough = stateRepository.findLastFoldedDate();
+        if (foldedThrough == null || earliestDate.isAfter(foldedThrough)) {
+            return;
+        }
+        stateRepository.deleteAllInBatch();
+        advanceModels(foldedThrough);
+        log.info("Refolded forecast models through {} after sales arrived for {}", foldedThrough, earliestDate);
+    }
+
+    // Drop the folded models so the next advance refolds every day from the rollups
+    @Transactional
+    public void resetModels() {
+        stateRepository.deleteAllInBatch();
+        onModelsChanged(false);
+    }
+
+    // Called once ingested sales data has been committed. Holt predictions only change when a day is folded,
+    // so new rows only make stored forecasts stale while the moving-average fallback is in use.
+    public void onSalesDataChanged() {
+        Boolean built = modelsBuilt;
+        if (built == null) {
+            built = stateRepository.count() > 0;
+            modelsBuilt = built;
+        }
+        if (!built) {
+            inputsChangedAt = LocalDateTime.now();
+        }
+    }
+
+    // Stamped after commit, so a forecast generated from the old models cannot look newer than the change
+    private void onModelsChanged(boolean built) {
+        Runnable change = () -> {
+            modelsBuilt = built;
+            inputsChangedAt = LocalDateTime.now();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private boolean isFresh(List<SalesForecast> stored) {
+        LocalDateTime changedAt = inputsChangedAt;
+        return changedAt == null || stored.stream()
+                .allMatch(f -> f.getGeneratedAt() != null && f.getGeneratedAt().isAfter(changedAt));
+    }
+
+    private SalesForecastDTO toDTO(LocalDate forecastDate, String forecastType, List<SalesForecast> forecasts) {
+        Map<String, Double> forecastByCategory = new HashMap<>();
+        double predictedTotal = 0.0;
+        for (SalesForecast forecast : forecasts) {
+            forecastByCategory.put(forecast.getCategory(), forecast.getPredictedAmount());
+            predictedTotal += forecast.getPredictedAmount();
         }
 
         // Create and return forecast DTO
@@ -71,4 +228,28 @@ public class ForecastService {
 
         return forecastDTO;
     }
-}
\ No newline at end of file
+
+    private Map<String, Double> predictFromModels(LocalDate forecastDate) {
+        Map<String, Double> predictions = new HashMap<>();
+        for (CategoryForecastState state : stateRepository.findAll()) {
+            predictions.put(state.getCategory(), state.predict(forecastDate));
+        }
+        return predictions;
+    }
+
+    // Average daily sales over the last 30 days, from the sales cube when it is loaded,
+    // otherwise from the daily rollups in the database
+    private Map<String, Double> predictFromMovingAverage(LocalDate today) {
+        LocalDate startDate = today.minusDays(30);
+        Map<String, Double> salesByCategory = new HashMap<>();
+        if (salesCube.isReady()) {
+            salesByCategory.putAll(salesCube.aggregate(startDate, today).getSalesByCategory());
+        } else {
+            for (Object[] row : categoryRollupRepository.sumByCategoryBetweenDates(startDate, today)) {
+                salesByCategory.put((String) row[0], (Double) row[1]);
+            }
+        }
+        salesByCategory.replaceAll((category, total) -> total / 30.0);
+        return salesByCategory;
+    }
+}
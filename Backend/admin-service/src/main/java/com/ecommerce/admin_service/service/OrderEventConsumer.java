@@ -0,0 +1,181 @@
+package com.ecommerce.admin_service.service;
+
+import com.ecommerce.admin_service.dto.OrderDTO;
+import com.ecommerce.admin_service.dto.OrderEventDTO;
+import com.ecommerce.admin_service.model.IngestionWatermark;
+import com.ecommerce.admin_service.repository.IngestionWatermarkRepository;
+import com.ecommerce.admin_service.repository.SalesDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Continuously applies order-service's outbox feed to sales data in small batches.
+// Delivery is at-least-once: the cursor commits together with the rows it covers, and redelivered
+// orders are dropped by AdminService.ingestOrders. Event ids are assigned before commit, so a slow
+// transaction can commit behind the cursor; a periodic lookback over recently recorded events picks those up.
+@Service
+@ConditionalOnProperty(name = "sales.events.enabled", havingValue = "true")
+public class OrderEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventConsumer.class);
+
+    private static final String EVENTS_WATERMARK = "order-events";
+    private static final String ORDER_CREATED = "ORDER_CREATED";
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private IngestionWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private SalesDataRepository salesDataRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${order.service.url}")
+    private String orderServiceUrl;
+
+    @Value("${sales.events.batch-size}")
+    private int batchSize;
+
+    @Value("${sales.events.lookback-ms}")
+    private long lookbackMs;
+
+    // Last day folded into the forecast models from this feed
+    private LocalDate foldedThrough;
+
+    @Scheduled(fixedDelayString = "${sales.events.poll-interval-ms}")
+    public void poll() {
+        try {
+            int applied;
+            LocalDateTime requestedAt;
+            do {
+                requestedAt = LocalDateTime.now();
+                applied = consumeBatch();
+            } while (applied == batchSize);
+
+            // The feed was drained as of requestedAt, and an order placed more than the lookback before that
+            // has either been consumed or will be recovered by the lookback, so its day can be folded
+            LocalDateTime settledThrough = requestedAt.minus(lookbackMs, ChronoUnit.MILLIS);
+            LocalDate completeThrough = settledThrough.toLocalDate().minusDays(1);
+            if (foldedThrough == null || foldedThrough.isBefore(completeThrough)) {
+                adminService.advanceForecastModels(settledThrough);
+                foldedThrough = completeThrough;
+            }
+        } catch (ResourceAccessException e) {
+            log.debug("Order event feed unavailable: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Cursor was not advanced; the same batch is retried on the next poll
+            log.warn("Failed to apply order events", e);
+        }
+    }
+
+    // Ingest orders from events behind the cursor that are missing from sales data
+    @Scheduled(fixedDelayString = "${sales.events.lookback-interval-ms}")
+    public void recheckRecentEvents() {
+        try {
+            long upTo = currentCursor();
+            long after = 0;
+            int recovered = 0;
+            List<OrderEventDTO> events;
+            do {
+                events = restTemplate.exchange(
+                        orderServiceUrl + "/api/orders/events?after=" + after + "&limit=" + batchSize
+                                + "&upTo=" + upTo + "&recordedWithinMs=" + lookbackMs,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<List<OrderEventDTO>>() {}
+                ).getBody();
+                if (events == null || events.isEmpty()) {
+                    break;
+                }
+                after = events.get(events.size() - 1).getId();
+
+                Map<String, OrderDTO> placedOrders = new LinkedHashMap<>();
+                events.stream()
+                        .filter(event -> ORDER_CREATED.equals(event.getEventType()))
+                        .forEach(event -> placedOrders.putIfAbsent(event.getOrderId(), event.getOrder()));
+                // Almost every order is already ingested; only take the ingestion lock for the rest
+                if (!placedOrders.isEmpty()) {
+                    salesDataRepository.findIngestedOrderIds(placedOrders.keySet()).forEach(placedOrders::remove);
+                }
+                if (!placedOrders.isEmpty()) {
+                    List<OrderDTO> missing = new ArrayList<>(placedOrders.values());
+                    recovered += new TransactionTemplate(transactionManager)
+                            .execute(status -> adminService.ingestOrders(missing));
+                }
+            } while (events.size() == batchSize);
+
+            if (recovered > 0) {
+                log.info("Recovered {} sales rows from order events committed behind the cursor", recovered);
+            }
+        } catch (ResourceAccessException e) {
+            log.debug("Order event feed unavailable: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Failed to recheck recent order events", e);
+        }
+    }
+
+    private long currentCursor() {
+        return watermarkRepository.findById(EVENTS_WATERMARK)
+                .map(IngestionWatermark::getLastEventId)
+                .orElse(0L);
+    }
+
+    private int consumeBatch() {
+        long after = currentCursor();
+        List<OrderEventDTO> events = restTemplate.exchange(
+                orderServiceUrl + "/api/orders/events?after=" + after + "&limit=" + batchSize,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<OrderEventDTO>>() {}
+        ).getBody();
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        // Sales data records every placed order regardless of its later status (as the export does),
+        // so status changes only advance the cursor
+        List<OrderDTO> placedOrders = events.stream()
+                .filter(event -> ORDER_CREATED.equals(event.getEventType()))
+                .map(OrderEventDTO::getOrder)
+                .collect(Collectors.toList());
+        long lastEventId = events.get(events.size() - 1).getId();
+
+        int rowsWritten = new TransactionTemplate(transactionManager).execute(status -> {
+            int rows = placedOrders.isEmpty() ? 0 : adminService.ingestOrders(placedOrders);
+            IngestionWatermark cursor = watermarkRepository.findById(EVENTS_WATERMARK)
+                    .orElseGet(() -> new IngestionWatermark(EVENTS_WATERMARK, null));
+            cursor.setLastEventId(lastEventId);
+            cursor.setLastProcessedAt(LocalDateTime.now());
+            watermarkRepository.save(cursor);
+            return rows;
+        });
+
+        log.debug("Applied {} order events up to {} ({} sales rows)", events.size(), lastEventId, rowsWritten);
+        return events.size();
+    }
+}
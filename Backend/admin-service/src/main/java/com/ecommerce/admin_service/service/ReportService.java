@@ -1,12 +1,20 @@
 package com.ecommerce.admin_service.service;
 
+import com.ecommerce.admin_service.analytics.CubeAggregate;
+import com.ecommerce.admin_service.analytics.SalesCube;
+import com.ecommerce.admin_service.dto.ReportCacheStatsDTO;
 import com.ecommerce.admin_service.dto.SalesReportDTO;
-import com.ecommerce.admin_service.model.SalesData;
-import com.ecommerce.admin_service.repository.SalesDataRepository;
+import com.ecommerce.admin_service.repository.SalesDailyByCategoryRepository;
+import com.ecommerce.admin_service.repository.SalesDailyByProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,41 +22,149 @@ import java.util.Map;
 public class ReportService {
 
     @Autowired
-    private SalesDataRepository salesDataRepository;
+    private SalesCube salesCube;
+
+    @Value("${reports.cache.max-entries}")
+    private int maxEntries;
+
+    // LRU cache of generated reports keyed by date range; all access is synchronized on the map
+    private final Map<CacheKey, SalesReportDTO> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, SalesReportDTO> eldest) {
+            if (size() > maxEntries) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private long cacheGeneration;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    @Autowired
+    private SalesDailyByCategoryRepository categoryRollupRepository;
+
+    @Autowired
+    private SalesDailyByProductRepository productRollupRepository;
 
     public SalesReportDTO generateSalesReport(LocalDate startDate, LocalDate endDate) {
-        List<SalesData> salesData = salesDataRepository.findByDateBetween(startDate, endDate);
+        CacheKey key = new CacheKey(startDate, endDate);
+        long generation;
+        synchronized (cache) {
+            SalesReportDTO cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            generation = cacheGeneration;
+        }
+
+        SalesReportDTO report = salesCube.isReady()
+                ? generateSalesReportFromCube(startDate, endDate)
+                : generateSalesReportFromRollups(startDate, endDate);
+
+        // Skip caching if ingestion invalidated anything while this report was being built
+        synchronized (cache) {
+            if (generation == cacheGeneration) {
+                cache.put(key, report);
+            }
+        }
+        return report;
+    }
+
+    // Drop cached reports whose range covers any of the freshly ingested dates
+    public void invalidateReports(Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        LocalDate min = Collections.min(dates);
+        LocalDate max = Collections.max(dates);
+        synchronized (cache) {
+            cacheGeneration++;
+            Iterator<CacheKey> keys = cache.keySet().iterator();
+            while (keys.hasNext()) {
+                CacheKey key = keys.next();
+                if (key.startDate().isAfter(max) || key.endDate().isBefore(min)) {
+                    continue;
+                }
+                if (dates.stream().anyMatch(key::covers)) {
+                    keys.remove();
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    public ReportCacheStatsDTO getCacheStats() {
+        ReportCacheStatsDTO stats = new ReportCacheStatsDTO();
+        synchronized (cache) {
+            stats.setSize(cache.size());
+            stats.setMaxEntries(maxEntries);
+            stats.setHits(hits);
+            stats.setMisses(misses);
+            stats.setEvictions(evictions);
+            stats.setInvalidations(invalidations);
+        }
+        return stats;
+    }
+
+    // One scan over the in-memory column arrays
+    private SalesReportDTO generateSalesReportFromCube(LocalDate startDate, LocalDate endDate) {
+        CubeAggregate aggregate = salesCube.aggregate(startDate, endDate);
 
         SalesReportDTO report = new SalesReportDTO();
         report.setStartDate(startDate);
         report.setEndDate(endDate);
+        report.setTotalSales(aggregate.getTotalSales());
+        report.setTotalOrders((int) aggregate.getLineCount());
+        report.setSalesByCategory(aggregate.getSalesByCategory());
+        report.setSalesByProduct(aggregate.getSalesByProduct());
+        return report;
+    }
 
-        double totalSales = salesData.stream()
-                .mapToDouble(SalesData::getAmount)
-                .sum();
-        report.setTotalSales(totalSales);
-        report.setTotalOrders(salesData.size());
+    // Two GROUP BY queries over the daily rollups; no entities are loaded, whatever the range
+    private SalesReportDTO generateSalesReportFromRollups(LocalDate startDate, LocalDate endDate) {
+        SalesReportDTO report = new SalesReportDTO();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
 
-        // Calculate sales by category
+        // Calculate sales by category, deriving the totals from the same rows
+        double totalSales = 0.0;
+        long totalLines = 0;
         Map<String, Double> salesByCategory = new HashMap<>();
-        List<Object[]> categoryData = salesDataRepository.getSalesByCategoryBetweenDates(startDate, endDate);
+        List<Object[]> categoryData = categoryRollupRepository.sumByCategoryBetweenDates(startDate, endDate);
         for (Object[] row : categoryData) {
             String category = (String) row[0];
             Double amount = (Double) row[1];
+            Long lines = (Long) row[2];
             salesByCategory.put(category, amount);
+            totalSales += amount;
+            totalLines += lines;
         }
+        report.setTotalSales(totalSales);
+        report.setTotalOrders((int) totalLines);
         report.setSalesByCategory(salesByCategory);
 
         // Calculate sales by product
         Map<String, Double> salesByProduct = new HashMap<>();
-        List<Object[]> productData = salesDataRepository.getTopProductsBetweenDates(startDate, endDate);
+        List<Object[]> productData = productRollupRepository.sumByProductBetweenDates(startDate, endDate);
         for (Object[] row : productData) {
-            String productName = (String) row[1];
-            Double amount = (Double) row[2];
+            String productName = (String) row[0];
+            Double amount = (Double) row[1];
             salesByProduct.put(productName, amount);
         }
         report.setSalesByProduct(salesByProduct);
 
         return report;
     }
-}
\ No newline at end of file
+
+    private record CacheKey(LocalDate startDate, LocalDate endDate) {
+        boolean covers(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.admin_service.service;
+
+import com.ecommerce.admin_service.analytics.SalesCube;
+import com.ecommerce.admin_service.model.SalesDailyByCategory;
+import com.ecommerce.admin_service.model.SalesDailyByProduct;
+import com.ecommerce.admin_service.model.SalesData;
+import com.ecommerce.admin_service.repository.SalesDailyByCategoryRepository;
+import com.ecommerce.admin_service.repository.SalesDailyByProductRepository;
+import com.ecommerce.admin_service.repository.SalesDataRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk write path for the sales_data table and its daily rollups
+@Service
+public class SalesDataWriter implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesDataWriter.class);
+
+    @Autowired
+    private SalesDataRepository salesDataRepository;
+
+    @Autowired
+    private SalesDailyByCategoryRepository categoryRollupRepository;
+
+    @Autowired
+    private SalesDailyByProductRepository productRollupRepository;
+
+    @Autowired
+    private SalesCube salesCube;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows ingested before the rollups existed were never folded into them. Runs before the schedulers and
+    // web server start, so nothing writes concurrently; a rollup whose line count disagrees with sales_data
+    // is rebuilt from it, and the forecast models are refolded from the complete history.
+    @Override
+    public void afterSingletonsInstantiated() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long facts = salesDataRepository.count();
+            boolean rebuilt = false;
+            if (categoryRollupRepository.countLines() != facts) {
+                categoryRollupRepository.deleteAllInBatch();
+                int rows = categoryRollupRepository.insertFromSalesData();
+                log.info("Rebuilt {} category rollup rows from {} sales rows", rows, facts);
+                rebuilt = true;
+            }
+            if (productRollupRepository.countLines() != facts) {
+                productRollupRepository.deleteAllInBatch();
+                int rows = productRollupRepository.insertFromSalesData();
+                log.info("Rebuilt {} product rollup rows from {} sales rows", rows, facts);
+            }
+            if (rebuilt) {
+                forecastService.resetModels();
+            }
+        });
+    }
+
+    // Insert one chunk as JDBC batches, then detach it so the persistence context stays small
+    @Transactional
+    public int writeChunk(List<SalesData> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        salesDataRepository.saveAll(rows);
+        updateRollups(rows);
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<LocalDate> dates = rows.stream().map(SalesData::getDate).collect(Collectors.toSet());
+        forecastService.onSalesDataWritten(Collections.min(dates));
+
+        // The cube, report cache and forecasts only see rows once they are durable. The callback keeps the
+        // chunk's rows alive until commit, which is why both ingestion paths commit chunk by chunk.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                salesCube.append(rows);
+                reportService.invalidateReports(dates);
+                forecastService.onSalesDataChanged();
+            }
+        });
+        return rows.size();
+    }
+
+    // Fold the chunk into the daily rollups, touching only the (date, key) rows it affects
+    private void updateRollups(List<SalesData> rows) {
+        Set<LocalDate> dates = rows.stream().map(SalesData::getDate).collect(Collectors.toSet());
+        Set<String> productIds = rows.stream().map(SalesData::getProductId).collect(Collectors.toSet());
+
+        Map<LocalDate, Map<String, SalesDailyByCategory>> byCategory = new HashMap<>();
+        for (SalesDailyByCategory rollup : categoryRollupRepository.findByDateIn(dates)) {
+            byCategory.computeIfAbsent(rollup.getDate(), d -> new HashMap<>()).put(rollup.getCategory(), rollup);
+        }
+        Map<LocalDate, Map<String, SalesDailyByProduct>> byProduct = new HashMap<>();
+        for (SalesDailyByProduct rollup : productRollupRepository.findByDateInAndProductIdIn(dates, productIds)) {
+            byProduct.computeIfAbsent(rollup.getDate(), d -> new HashMap<>()).put(rollup.getProductId(), rollup);
+        }
+
+        for (SalesData row : rows) {
+            byCategory.computeIfAbsent(row.getDate(), d -> new HashMap<>())
+                    .computeIfAbsent(row.getCategory(), c -> new SalesDailyByCategory(row.getDate(), c))
+                    .add(row);
+            byProduct.computeIfAbsent(row.getDate(), d -> new HashMap<>())
+                    .computeIfAbsent(row.getProductId(), p -> new SalesDailyByProduct(row.getDate(), p))
+                    .add(row);
+        }
+
+        categoryRollupRepository.saveAll(byCategory.values().stream()
+                .flatMap(m -> m.values().stream())
+                .collect(Collectors.toList()));
+        productRollupRepository.saveAll(byProduct.values().stream()
+                .flatMap(m -> m.values().stream())
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.admin_service.analytics;
+
+import com.ecommerce.admin_service.model.SalesData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalesCubeTests {
+
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+	private static final String[] CATEGORIES = {"fruits", "dairy", "snacks"};
+
+	private final Random random = new Random(42);
+	private final List<SalesData> appended = new ArrayList<>();
+	private SalesCube cube;
+
+	@BeforeEach
+	void setUp() {
+		cube = new SalesCube();
+		ReflectionTestUtils.setField(cube, "ready", true);
+		ReflectionTestUtils.setField(cube, "parallelThreshold", 500);
+		ReflectionTestUtils.setField(cube, "segmentSize", 128);
+	}
+
+	@Test
+	void inOrderAppendsStayInOneRun() {
+		for (int day = 0; day < 30; day++) {
+			append(batch(day, day, 20));
+		}
+		assertEquals(1, cube.runCount());
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void lateAppendsStartNewRunsAndAreStillFound() {
+		for (int day = 0; day < 30; day++) {
+			append(batch(day, day, 20));
+		}
+		// A replayed batch with historical dates
+		append(batch(3, 12, 50));
+
+		assertEquals(2, cube.runCount());
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void manyLateAppendsAreMergedBackIntoOneSortedRun() {
+		for (int day = 0; day < 60; day++) {
+			append(batch(day, day, 30));
+			if (day % 3 == 2) {
+				append(batch(day - 10 < 0 ? 0 : day - 10, day - 1, 10));
+			}
+		}
+		assertTrue(cube.runCount() <= 17, "runs: " + cube.runCount());
+		assertMatchesBruteForce();
+	}
+
+	private void append(List<SalesData> rows) {
+		appended.addAll(rows);
+		cube.append(rows);
+	}
+
+	private List<SalesData> batch(int firstDay, int lastDay, int rows) {
+		List<SalesData> batch = new ArrayList<>();
+		for (int i = 0; i < rows; i++) {
+			SalesData row = new SalesData();
+			row.setDate(START.plusDays(firstDay + random.nextInt(lastDay - firstDay + 1)));
+			row.setProductId("p" + random.nextInt(40));
+			row.setProductName(row.getProductId());
+			row.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			row.setQuantity(1);
+			row.setAmount(random.nextInt(1000) / 10.0);
+			batch.add(row);
+		}
+		return batch;
+	}
+
+	// Every range, including ones wide enough for the parallel path, must match a plain filter over all rows
+	private void assertMatchesBruteForce() {
+		assertEquals(appended.size(), cube.size());
+		for (int from = -1; from < 62; from += 7) {
+			for (int length = 0; length < 70; length += 9) {
+				LocalDate startDate = START.plusDays(from);
+				LocalDate endDate = startDate.plusDays(length);
+				CubeAggregate aggregate = cube.aggregate(startDate, endDate);
+
+				Map<String, Double> expected = new HashMap<>();
+				long lines = 0;
+				for (SalesData row : appended) {
+					if (!row.getDate().isBefore(startDate) && !row.getDate().isAfter(endDate)) {
+						expected.merge(row.getCategory(), row.getAmount(), Double::sum);
+						lines++;
+					}
+				}
+				assertEquals(lines, aggregate.getLineCount(), startDate + ".." + endDate);
+				Map<String, Double> actual = aggregate.getSalesByCategory();
+				assertEquals(expected.keySet(), actual.keySet());
+				expected.forEach((category, amount) -> assertEquals(amount, actual.get(category), 0.001));
+			}
+		}
+	}
+}
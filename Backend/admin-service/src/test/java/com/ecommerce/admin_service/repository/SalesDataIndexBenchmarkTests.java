@@ -0,0 +1,130 @@
+package com.ecommerce.admin_service.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Query latency on sales_data with and without the indexes declared on SalesData.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"analytics.cube.enabled=false",
+		"sales.events.enabled=false",
+		"spring.jpa.show-sql=false"
+})
+class SalesDataIndexBenchmarkTests {
+
+	private static final int ROWS = 1_200_000;
+	private static final int DAYS = 1_095;
+	private static final int PRODUCTS = 200;
+	private static final int CATEGORIES = 10;
+	private static final int LINES_PER_ORDER = 3;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 15;
+	private static final List<String> INDEXES = List.of(
+			"idx_sales_data_date_category", "idx_sales_data_date_product", "idx_sales_data_order_id");
+
+	@Autowired
+	private SalesDataRepository salesDataRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void compareQueryLatencyWithAndWithoutIndexes() {
+		loadRows();
+		// Every run uses different parameters, so H2 cannot answer from its cached result of the previous run
+		LocalDate first = LocalDate.of(2024, 1, 1).plusDays(30);
+		IntFunction<LocalDate> day = run -> first.plusDays(run * 37L % (DAYS - 30));
+		IntFunction<List<String>> orderIds = run -> {
+			List<String> ids = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				ids.add("order-" + ((run * 500L + i) * 7_919 % (ROWS / LINES_PER_ORDER)));
+			}
+			return ids;
+		};
+
+		Map<String, IntFunction<Integer>> queries = new LinkedHashMap<>();
+		queries.put("sales by category, 7 days", run -> salesDataRepository.getSalesByCategoryBetweenDates(day.apply(run).minusDays(6), day.apply(run)).size());
+		queries.put("top products, 30 days", run -> salesDataRepository.getTopProductsBetweenDates(day.apply(run).minusDays(29), day.apply(run)).size());
+		queries.put("rows for one day", run -> salesDataRepository.findByDateBetween(day.apply(run), day.apply(run)).size());
+		queries.put("ingested order ids, 500", run -> salesDataRepository.findIngestedOrderIds(orderIds.apply(run)).size());
+
+		jdbcTemplate.execute("ANALYZE");
+		Map<String, double[]> indexed = measure(queries);
+		INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+		jdbcTemplate.execute("ANALYZE");
+		Map<String, double[]> unindexed = measure(queries);
+
+		System.out.printf("%nsales_data, %,d rows (median ms over %d runs)%n", ROWS, MEASURED_RUNS);
+		System.out.printf("%-28s %12s %12s %10s%n", "query", "no index", "indexed", "speedup");
+		for (String name : queries.keySet()) {
+			double before = unindexed.get(name)[0];
+			double after = indexed.get(name)[0];
+			System.out.printf("%-28s %12.2f %12.2f %9.1fx%n", name, before, after, before / after);
+			// Same answers either way
+			assertEquals(unindexed.get(name)[1], indexed.get(name)[1]);
+		}
+	}
+
+	private void loadRows() {
+		LocalDate start = LocalDate.of(2024, 1, 1);
+		List<Object[]> batch = new ArrayList<>(10_000);
+		for (int i = 0; i < ROWS; i++) {
+			int product = (i * 31) % PRODUCTS;
+			batch.add(new Object[] {
+					(long) i + 1,
+					"order-" + (i / LINES_PER_ORDER),
+					Date.valueOf(start.plusDays((long) i * DAYS / ROWS)),
+					"p" + product,
+					"Product " + product,
+					"category-" + (product % CATEGORIES),
+					1 + i % 5,
+					(1 + i % 5) * 2.5
+			});
+			if (batch.size() == 10_000) {
+				insert(batch);
+				batch.clear();
+			}
+		}
+		insert(batch);
+	}
+
+	private void insert(List<Object[]> batch) {
+		jdbcTemplate.batchUpdate("INSERT INTO sales_data (id, order_id, date, product_id, product_name, category, quantity, amount) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+	}
+
+	// Median latency in ms and the total result size for each query
+	private Map<String, double[]> measure(Map<String, IntFunction<Integer>> queries) {
+		Map<String, double[]> results = new LinkedHashMap<>();
+		for (Map.Entry<String, IntFunction<Integer>> query : queries.entrySet()) {
+			for (int run = 0; run < WARMUP_RUNS; run++) {
+				query.getValue().apply(run);
+			}
+			// Measured runs use the same parameters in both phases; their summed result sizes are compared
+			int size = 0;
+			double[] timings = new double[MEASURED_RUNS];
+			for (int i = 0; i < MEASURED_RUNS; i++) {
+				long startedAt = System.nanoTime();
+				size += query.getValue().apply(WARMUP_RUNS + i);
+				timings[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+			}
+			Arrays.sort(timings);
+			results.put(query.getKey(), new double[] {timings[MEASURED_RUNS / 2], size});
+		}
+		return results;
+	}
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.order_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ProductLookupConfig {
+
+    // Bounds how many product-service calls run at once across all checkouts
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService productLookupExecutor(@Value("${product.lookup.max-concurrency}") int maxConcurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "product-lookup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
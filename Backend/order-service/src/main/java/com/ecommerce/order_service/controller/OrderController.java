@@ -1,13 +1,30 @@
 package com.ecommerce.order_service.controller;
 
+import com.ecommerce.order_service.dto.BulkOrderResponseDTO;
+import com.ecommerce.order_service.dto.BulkStatusUpdateRequest;
+import com.ecommerce.order_service.dto.BulkStatusUpdateResultDTO;
+import com.ecommerce.order_service.dto.CustomerOrderSummaryDTO;
 import com.ecommerce.order_service.dto.OrderDTO;
+import com.ecommerce.order_service.dto.OrderEventDTO;
+import com.ecommerce.order_service.dto.OrderPageDTO;
 import com.ecommerce.order_service.dto.OrderRequest;
 import com.ecommerce.order_service.model.Order;
+import com.ecommerce.order_service.service.CustomerSummaryService;
+import com.ecommerce.order_service.service.OrderEventService;
 import com.ecommerce.order_service.service.OrderService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -15,14 +32,103 @@ import java.util.List;
 @CrossOrigin(origins = "*")  // For development; restrict in production
 public class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_EVENT_BATCH = 5000;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private CustomerSummaryService customerSummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public ResponseEntity<List<OrderDTO>> getAllOrders() {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    // Cursor-paginated, filtered listing; pass nextCursor back as cursor to fetch the following page
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageDTO> getOrderPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "desc") String direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(orderService.getOrderPage(cursor, size, status, customerEmail, from, to,
+                    !"asc".equalsIgnoreCase(direction)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Orders placed within [from, to], both bounds inclusive
+    @GetMapping("/range")
+    public ResponseEntity<List<OrderDTO>> getOrdersBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderService.getOrdersBetween(from, to));
+    }
+
+    // Streams orders as newline-delimited JSON; both bounds are optional and inclusive. They apply to the order
+    // date, or with window=recorded to when the order was stored, which incremental consumers should use since
+    // replayed orders keep their original date.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ordered") String window) {
+        if (!window.equals("ordered") && !window.equals("recorded")) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean byRecordedAt = window.equals("recorded");
+        StreamingResponseBody body = out -> orderService.exportOrders(from, to, byRecordedAt, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Bulk replay of many orders: a JSON array or newline-delimited JSON, read incrementally
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkOrderResponseDTO> bulkCreateOrders(HttpServletRequest request) throws IOException {
+        try (MappingIterator<OrderRequest> orders = objectMapper.readerFor(OrderRequest.class)
+                .readValues(request.getInputStream())) {
+            BulkOrderResponseDTO response = orderService.bulkCreateOrders(orders);
+            return ResponseEntity.status(response.getError() != null ? HttpStatus.BAD_REQUEST : HttpStatus.OK)
+                    .body(response);
+        }
+    }
+
+    // Outbox feed: order events with id greater than 'after', oldest first.
+    // With upTo and recordedWithinMs, re-reads events up to 'upTo' recorded within that many milliseconds
+    // (the consumer's lookback for late-committing transactions).
+    @GetMapping("/events")
+    public ResponseEntity<List<OrderEventDTO>> getOrderEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) Long upTo,
+            @RequestParam(required = false) Long recordedWithinMs) {
+        if (limit < 1 || limit > MAX_EVENT_BATCH || (upTo == null) != (recordedWithinMs == null)
+                || (recordedWithinMs != null && recordedWithinMs < 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (upTo != null) {
+            return ResponseEntity.ok(orderEventService.getRecentEvents(after, upTo, recordedWithinMs, limit));
+        }
+        return ResponseEntity.ok(orderEventService.getEventsAfter(after, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable String id) {
         return orderService.getOrderById(id)
@@ -35,6 +141,12 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByCustomerEmail(email));
     }
 
+    // Denormalized order count, lifetime spend and most recent orders for one customer
+    @GetMapping("/customer/{email}/summary")
+    public ResponseEntity<CustomerOrderSummaryDTO> getCustomerOrderSummary(@PathVariable String email) {
+        return ResponseEntity.ok(customerSummaryService.getSummary(email));
+    }
+
     @PostMapping
     public ResponseEntity<OrderDTO> createOrder(@RequestBody OrderRequest orderRequest) {
         OrderDTO createdOrder = orderService.createOrder(orderRequest);
@@ -52,6 +164,16 @@ public class OrderController {
         return ResponseEntity.notFound().build();
     }
 
+    // Bulk transition, e.g. CONFIRMED -> SHIPPED for a whole shift; only orders still in expectedStatus move
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResultDTO> updateOrderStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        if (request.getIds() == null || request.getExpectedStatus() == null || request.getNewStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.updateOrderStatuses(
+                request.getIds(), request.getExpectedStatus(), request.getNewStatus()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable String id) {
         orderService.deleteOrder(id);
@@ -0,0 +1,85 @@
+package com.ecommerce.order_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkOrderResponseDTO {
+    private int received;
+    private int created;
+    private int rejected;
+    private int failed;
+    private long elapsedMillis;
+    private double ordersPerSecond;
+    // Set when the input could not be read to the end; results cover the orders before that point
+    private String error;
+    private List<BulkOrderResultDTO> results = new ArrayList<>();
+
+    // Default constructor
+    public BulkOrderResponseDTO() {
+    }
+
+    // Getters and setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getOrdersPerSecond() {
+        return ordersPerSecond;
+    }
+
+    public void setOrdersPerSecond(double ordersPerSecond) {
+        this.ordersPerSecond = ordersPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<BulkOrderResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkOrderResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.order_service.dto;
+
+public class BulkOrderResultDTO {
+    // Position of the order in the submitted batch, starting at 0
+    private int index;
+    private String orderId;
+    private Status status;
+    private String error;
+
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+
+    // Default constructor
+    public BulkOrderResultDTO() {
+    }
+
+    public BulkOrderResultDTO(int index, String orderId, Status status, String error) {
+        this.index = index;
+        this.orderId = orderId;
+        this.status = status;
+        this.error = error;
+    }
+
+    // Getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.order_service.dto;
+
+import com.ecommerce.order_service.model.Order.OrderStatus;
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    private List<String> ids;
+    private OrderStatus expectedStatus;
+    private OrderStatus newStatus;
+
+    // Default constructor
+    public BulkStatusUpdateRequest() {
+    }
+
+    // Getters and setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public OrderStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(OrderStatus expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public void setNewStatus(OrderStatus newStatus) {
+        this.newStatus = newStatus;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.order_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CustomerOrderSummaryDTO {
+    private String customerEmail;
+    private int orderCount;
+    private double lifetimeSpend;
+    private LocalDateTime lastOrderDate;
+    private List<OrderHeaderDTO> recentOrders;
+
+    // Default constructor
+    public CustomerOrderSummaryDTO() {
+    }
+
+    // Getters and setters
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(int orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public double getLifetimeSpend() {
+        return lifetimeSpend;
+    }
+
+    public void setLifetimeSpend(double lifetimeSpend) {
+        this.lifetimeSpend = lifetimeSpend;
+    }
+
+    public LocalDateTime getLastOrderDate() {
+        return lastOrderDate;
+    }
+
+    public void setLastOrderDate(LocalDateTime lastOrderDate) {
+        this.lastOrderDate = lastOrderDate;
+    }
+
+    public List<OrderHeaderDTO> getRecentOrders() {
+        return recentOrders;
+    }
+
+    public void setRecentOrders(List<OrderHeaderDTO> recentOrders) {
+        this.recentOrders = recentOrders;
+    }
+}
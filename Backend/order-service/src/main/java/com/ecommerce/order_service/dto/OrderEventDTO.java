@@ -0,0 +1,61 @@
+package com.ecommerce.order_service.dto;
+
+import com.ecommerce.order_service.model.OrderEvent.EventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+
+public class OrderEventDTO {
+    private Long id;
+    private String orderId;
+    private EventType eventType;
+    private LocalDateTime createdAt;
+
+    // Stored OrderDTO JSON, embedded as-is
+    @JsonRawValue
+    private String order;
+
+    // Default constructor
+    public OrderEventDTO() {
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getOrder() {
+        return order;
+    }
+
+    public void setOrder(String order) {
+        this.order = order;
+    }
+}
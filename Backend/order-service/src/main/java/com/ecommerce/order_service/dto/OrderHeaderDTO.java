@@ -0,0 +1,55 @@
+package com.ecommerce.order_service.dto;
+
+import com.ecommerce.order_service.model.Order.OrderStatus;
+import java.time.LocalDateTime;
+
+public class OrderHeaderDTO {
+    private String id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private double totalAmount;
+
+    // Default constructor
+    public OrderHeaderDTO() {
+    }
+
+    public OrderHeaderDTO(String id, LocalDateTime orderDate, OrderStatus status, double totalAmount) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalAmount = totalAmount;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
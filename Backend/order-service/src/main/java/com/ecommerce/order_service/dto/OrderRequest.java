@@ -1,5 +1,6 @@
 package com.ecommerce.order_service.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class OrderRequest {
@@ -8,6 +9,8 @@ public class OrderRequest {
     private String shippingAddress;
     private String phoneNumber;
     private List<OrderItemRequest> items;
+    // Original placement time for replayed orders; only honoured by bulk ingestion
+    private LocalDateTime orderDate;
 
     // Default constructor
     public OrderRequest() {
@@ -53,4 +56,12 @@ public class OrderRequest {
     public void setItems(List<OrderItemRequest> items) {
         this.items = items;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+}
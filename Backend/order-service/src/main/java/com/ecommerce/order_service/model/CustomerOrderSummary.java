@@ -0,0 +1,72 @@
+package com.ecommerce.order_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Read model behind the "My Orders" view, kept current in the same transaction as every order write
+@Entity
+@Table(name = "customer_order_summaries")
+public class CustomerOrderSummary {
+    @Id
+    private String customerEmail;
+
+    private int orderCount;
+
+    // Total of all orders except cancelled ones
+    private double lifetimeSpend;
+
+    private LocalDateTime lastOrderDate;
+
+    // JSON array of the most recent order headers, newest first
+    @Lob
+    private String recentOrders;
+
+    // Default constructor
+    public CustomerOrderSummary() {
+    }
+
+    public CustomerOrderSummary(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    // Getters and setters
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(int orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public double getLifetimeSpend() {
+        return lifetimeSpend;
+    }
+
+    public void setLifetimeSpend(double lifetimeSpend) {
+        this.lifetimeSpend = lifetimeSpend;
+    }
+
+    public LocalDateTime getLastOrderDate() {
+        return lastOrderDate;
+    }
+
+    public void setLastOrderDate(LocalDateTime lastOrderDate) {
+        this.lastOrderDate = lastOrderDate;
+    }
+
+    public String getRecentOrders() {
+        return recentOrders;
+    }
+
+    public void setRecentOrders(String recentOrders) {
+        this.recentOrders = recentOrders;
+    }
+}
@@ -6,7 +6,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_email", columnList = "customer_email"),
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_recorded_at_id", columnList = "recorded_at, id")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -17,6 +22,8 @@ public class Order {
     private String shippingAddress;
     private String phoneNumber;
     private LocalDateTime orderDate;
+    // When this service stored the order; later than orderDate for replayed orders, so exports window on it
+    private LocalDateTime recordedAt;
     private OrderStatus status;
     private double totalAmount;
 
@@ -80,6 +87,14 @@ public class Order {
         this.orderDate = orderDate;
     }
 
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
@@ -0,0 +1,74 @@
+package com.ecommerce.order_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Transactional outbox row, written in the same transaction as the order change it describes
+@Entity
+@Table(name = "order_outbox")
+public class OrderEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    // OrderDTO JSON as of the event
+    @Lob
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    public enum EventType {
+        ORDER_CREATED, STATUS_CHANGED
+    }
+
+    // Default constructor
+    public OrderEvent() {
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
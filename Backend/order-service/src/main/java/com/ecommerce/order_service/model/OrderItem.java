@@ -3,7 +3,7 @@ package com.ecommerce.order_service.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order_id", columnList = "order_id"))
 public class OrderItem {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
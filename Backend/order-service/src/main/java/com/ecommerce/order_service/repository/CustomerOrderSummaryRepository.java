@@ -0,0 +1,22 @@
+package com.ecommerce.order_service.repository;
+
+import com.ecommerce.order_service.model.CustomerOrderSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerOrderSummaryRepository extends JpaRepository<CustomerOrderSummary, String> {
+    // Row locks serialize concurrent order writes for the same customer
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerOrderSummary s WHERE s.customerEmail IN ?1")
+    List<CustomerOrderSummary> findAllForUpdate(Collection<String> customerEmails);
+
+    // Existence check that does not load the entities into the persistence context ahead of the locking read
+    @Query("SELECT s.customerEmail FROM CustomerOrderSummary s WHERE s.customerEmail IN ?1")
+    List<String> findExistingEmails(Collection<String> customerEmails);
+}
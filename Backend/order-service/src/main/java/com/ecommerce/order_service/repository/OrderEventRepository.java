@@ -0,0 +1,18 @@
+package com.ecommerce.order_service.repository;
+
+import com.ecommerce.order_service.model.OrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    @Query("SELECT e FROM OrderEvent e WHERE e.id > ?1 AND e.createdAt <= ?2 ORDER BY e.id")
+    List<OrderEvent> findEventsAfter(Long afterId, LocalDateTime createdBefore, Pageable pageable);
+
+    @Query("SELECT e FROM OrderEvent e WHERE e.id > ?1 AND e.id <= ?2 AND e.createdAt >= ?3 ORDER BY e.id")
+    List<OrderEvent> findEventsRecordedSince(Long afterId, Long upToId, LocalDateTime createdFrom, Pageable pageable);
+}
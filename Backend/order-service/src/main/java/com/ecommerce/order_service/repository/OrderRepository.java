@@ -1,14 +1,72 @@
 package com.ecommerce.order_service.repository;
 
 import com.ecommerce.order_service.model.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String> {
+public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order> {
     List<Order> findByCustomerEmail(String email);
     List<Order> findByOrderDateBetween(LocalDateTime start, LocalDateTime end);
     List<Order> findByStatus(Order.OrderStatus status);
-}
\ No newline at end of file
+
+    // Listing variants that load each order's items in the same statement instead of one SELECT per order
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithItems();
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o WHERE o.customerEmail = ?1")
+    List<Order> findByCustomerEmailWithItems(String email);
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN ?1 AND ?2")
+    List<Order> findByOrderDateBetweenWithItems(LocalDateTime start, LocalDateTime end);
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o WHERE o.id IN ?1")
+    List<Order> findByIdInWithItems(Collection<String> ids);
+
+    // Rebuilding a customer's summary from their order history: count, spend excluding one status, last order date
+    @Query("SELECT COUNT(o), COALESCE(SUM(CASE WHEN o.status <> ?2 THEN o.totalAmount ELSE 0 END), 0), MAX(o.orderDate) "
+            + "FROM Order o WHERE o.customerEmail = ?1")
+    List<Object[]> summarizeByCustomerEmail(String email, Order.OrderStatus excludedFromSpend);
+
+    List<Order> findByCustomerEmailOrderByOrderDateDescIdDesc(String email, Pageable pageable);
+
+    // Bulk status transition: lock the rows still in the expected status, then move exactly those in one UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.id IN ?1 AND o.status = ?2")
+    List<String> lockIdsWithStatus(Collection<String> ids, Order.OrderStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = ?3 WHERE o.id IN ?1 AND o.status = ?2")
+    int updateStatusWhereStatus(Collection<String> ids, Order.OrderStatus expectedStatus, Order.OrderStatus newStatus);
+
+    // Cursor-backed streams for exports; callers must hold a transaction and detach what they have written.
+    // Items are fetch-joined; ordering by id keeps each order's rows contiguous in the cursor.
+    @EntityGraph(attributePaths = "items")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Order> streamAllByOrderByOrderDateAscIdAsc();
+
+    @EntityGraph(attributePaths = "items")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Order> streamByOrderDateBetweenOrderByOrderDateAscIdAsc(LocalDateTime start, LocalDateTime end);
+
+    @EntityGraph(attributePaths = "items")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Order> streamByRecordedAtBetweenOrderByRecordedAtAscIdAsc(LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.order_service.repository;
+
+import com.ecommerce.order_service.model.Order;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+
+// Filters and keyset predicates for order listings
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> hasStatus(Order.OrderStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Order> hasCustomerEmail(String email) {
+        return (root, query, cb) -> email == null ? null : cb.equal(root.get("customerEmail"), email);
+    }
+
+    public static Specification<Order> placedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("orderDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("orderDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("orderDate"), to);
+        };
+    }
+
+    // Rows strictly after (orderDate, id) in the given sort direction
+    public static Specification<Order> after(LocalDateTime orderDate, String id, boolean descending) {
+        return (root, query, cb) -> {
+            if (orderDate == null) {
+                return null;
+            }
+            if (descending) {
+                return cb.or(
+                        cb.lessThan(root.get("orderDate"), orderDate),
+                        cb.and(cb.equal(root.get("orderDate"), orderDate), cb.lessThan(root.get("id"), id)));
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("orderDate"), orderDate),
+                    cb.and(cb.equal(root.get("orderDate"), orderDate), cb.greaterThan(root.get("id"), id)));
+        };
+    }
+}
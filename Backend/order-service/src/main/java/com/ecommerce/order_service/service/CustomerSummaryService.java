@@ -0,0 +1,237 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.dto.CustomerOrderSummaryDTO;
+import com.ecommerce.order_service.dto.OrderDTO;
+import com.ecommerce.order_service.dto.OrderHeaderDTO;
+import com.ecommerce.order_service.model.CustomerOrderSummary;
+import com.ecommerce.order_service.model.Order;
+import com.ecommerce.order_service.repository.CustomerOrderSummaryRepository;
+import com.ecommerce.order_service.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Maintains one CustomerOrderSummary row per customer so "My Orders" is a single-row lookup.
+// Write-side methods must join the transaction that changed the orders. A row whose recentOrders is null
+// is a placeholder that has not been built from the order table yet; a customer without a row is skipped
+// by the writers and built from the order table on read.
+@Service
+public class CustomerSummaryService {
+
+    private static final TypeReference<List<OrderHeaderDTO>> HEADER_LIST = new TypeReference<>() {};
+
+    @Autowired
+    private CustomerOrderSummaryRepository summaryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${order.summary.recent-orders}")
+    private int recentOrderCount;
+
+    @Transactional(readOnly = true)
+    public CustomerOrderSummaryDTO getSummary(String customerEmail) {
+        return convertToDTO(summaryRepository.findById(customerEmail)
+                .filter(summary -> summary.getRecentOrders() != null)
+                .orElseGet(() -> buildFromOrders(new CustomerOrderSummary(customerEmail))));
+    }
+
+    // Create placeholder rows for customers that have none, so the transaction that places their orders has a row
+    // to lock. Call before that transaction starts: the inserts commit on their own, and doing them from inside
+    // would hold a second pooled connection per first-time customer.
+    public void ensureSummaries(Collection<String> customerEmails) {
+        Set<String> missing = customerEmails.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.removeAll(summaryRepository.findExistingEmails(missing));
+        if (!missing.isEmpty()) {
+            insertPlaceholders(missing);
+        }
+    }
+
+    // Orders just persisted in the current transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrdersCreated(Collection<OrderDTO> orders) {
+        Map<String, List<OrderDTO>> byCustomer = groupByCustomer(orders);
+        Map<String, CustomerOrderSummary> summaries = lockSummaries(byCustomer.keySet());
+        for (Map.Entry<String, List<OrderDTO>> entry : byCustomer.entrySet()) {
+            CustomerOrderSummary summary = summaries.get(entry.getKey());
+            if (summary == null) {
+                continue;
+            }
+            if (summary.getRecentOrders() == null) {
+                // First summary for this customer; built from the order table, which already holds these orders
+                buildFromOrders(summary);
+                continue;
+            }
+            List<OrderHeaderDTO> recent = readRecentOrders(summary);
+            for (OrderDTO order : entry.getValue()) {
+                summary.setOrderCount(summary.getOrderCount() + 1);
+                if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+                    summary.setLifetimeSpend(summary.getLifetimeSpend() + order.getTotalAmount());
+                }
+                if (summary.getLastOrderDate() == null || order.getOrderDate().isAfter(summary.getLastOrderDate())) {
+                    summary.setLastOrderDate(order.getOrderDate());
+                }
+                recent.add(toHeader(order));
+            }
+            writeRecentOrders(summary, recent);
+        }
+    }
+
+    // Orders whose status changed from previousStatus in the current transaction; orders carry their new status
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Collection<OrderDTO> orders, Order.OrderStatus previousStatus) {
+        Map<String, List<OrderDTO>> byCustomer = groupByCustomer(orders);
+        Map<String, CustomerOrderSummary> summaries = lockSummaries(byCustomer.keySet());
+        for (Map.Entry<String, List<OrderDTO>> entry : byCustomer.entrySet()) {
+            CustomerOrderSummary summary = summaries.get(entry.getKey());
+            if (summary == null) {
+                continue;
+            }
+            if (summary.getRecentOrders() == null) {
+                buildFromOrders(summary);
+                continue;
+            }
+            List<OrderHeaderDTO> recent = readRecentOrders(summary);
+            Map<String, OrderHeaderDTO> recentById = recent.stream()
+                    .collect(Collectors.toMap(OrderHeaderDTO::getId, Function.identity()));
+            for (OrderDTO order : entry.getValue()) {
+                // Cancelling removes an order from lifetime spend; reinstating it adds it back
+                boolean wasCancelled = previousStatus == Order.OrderStatus.CANCELLED;
+                boolean isCancelled = order.getStatus() == Order.OrderStatus.CANCELLED;
+                if (wasCancelled && !isCancelled) {
+                    summary.setLifetimeSpend(summary.getLifetimeSpend() + order.getTotalAmount());
+                } else if (!wasCancelled && isCancelled) {
+                    summary.setLifetimeSpend(summary.getLifetimeSpend() - order.getTotalAmount());
+                }
+                OrderHeaderDTO header = recentById.get(order.getId());
+                if (header != null) {
+                    header.setStatus(order.getStatus());
+                }
+            }
+            writeRecentOrders(summary, recent);
+        }
+    }
+
+    // Full recomputation from the order table, used the first time a customer's summary is needed
+    private CustomerOrderSummary buildFromOrders(CustomerOrderSummary summary) {
+        String customerEmail = summary.getCustomerEmail();
+        Object[] totals = orderRepository.summarizeByCustomerEmail(customerEmail, Order.OrderStatus.CANCELLED).get(0);
+        summary.setOrderCount(((Number) totals[0]).intValue());
+        summary.setLifetimeSpend(((Number) totals[1]).doubleValue());
+        summary.setLastOrderDate((LocalDateTime) totals[2]);
+        writeRecentOrders(summary, orderRepository
+                .findByCustomerEmailOrderByOrderDateDescIdDesc(customerEmail, PageRequest.of(0, recentOrderCount)).stream()
+                .map(order -> new OrderHeaderDTO(order.getId(), order.getOrderDate(), order.getStatus(), order.getTotalAmount()))
+                .collect(Collectors.toList()));
+        return summary;
+    }
+
+    private Map<String, List<OrderDTO>> groupByCustomer(Collection<OrderDTO> orders) {
+        return orders.stream()
+                .filter(order -> order.getCustomerEmail() != null)
+                .collect(Collectors.groupingBy(OrderDTO::getCustomerEmail, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    // Every writer serializes on the row lock, and the first to get a placeholder builds it from the order table.
+    // Customers without a row (ensureSummaries was not called for them) are left out.
+    private Map<String, CustomerOrderSummary> lockSummaries(Collection<String> customerEmails) {
+        if (customerEmails.isEmpty()) {
+            return Map.of();
+        }
+        return summaryRepository.findAllForUpdate(customerEmails).stream()
+                .collect(Collectors.toMap(CustomerOrderSummary::getCustomerEmail, Function.identity()));
+    }
+
+    // Plain inserts (persist, never merge), so losing a race to a concurrent writer cannot overwrite its row
+    private void insertPlaceholders(Set<String> customerEmails) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        try {
+            template.executeWithoutResult(status ->
+                    customerEmails.forEach(email -> entityManager.persist(new CustomerOrderSummary(email))));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created some of them first; insert the rest one at a time
+            for (String email : customerEmails) {
+                try {
+                    template.executeWithoutResult(status -> entityManager.persist(new CustomerOrderSummary(email)));
+                } catch (DataIntegrityViolationException duplicate) {
+                    // Already there
+                }
+            }
+        }
+    }
+
+    private OrderHeaderDTO toHeader(OrderDTO order) {
+        return new OrderHeaderDTO(order.getId(), order.getOrderDate(), order.getStatus(), order.getTotalAmount());
+    }
+
+    private List<OrderHeaderDTO> readRecentOrders(CustomerOrderSummary summary) {
+        if (summary.getRecentOrders() == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(summary.getRecentOrders(), HEADER_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt order summary for " + summary.getCustomerEmail(), e);
+        }
+    }
+
+    // Keep only the newest headers (replayed orders can be older than the ones already listed)
+    private void writeRecentOrders(CustomerOrderSummary summary, List<OrderHeaderDTO> recent) {
+        List<OrderHeaderDTO> newest = recent.stream()
+                .sorted(Comparator.comparing(OrderHeaderDTO::getOrderDate).thenComparing(OrderHeaderDTO::getId).reversed())
+                .limit(recentOrderCount)
+                .collect(Collectors.toList());
+        try {
+            summary.setRecentOrders(objectMapper.writeValueAsString(newest));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order summary for " + summary.getCustomerEmail(), e);
+        }
+    }
+
+    private CustomerOrderSummaryDTO convertToDTO(CustomerOrderSummary summary) {
+        CustomerOrderSummaryDTO summaryDTO = new CustomerOrderSummaryDTO();
+        summaryDTO.setCustomerEmail(summary.getCustomerEmail());
+        summaryDTO.setOrderCount(summary.getOrderCount());
+        summaryDTO.setLifetimeSpend(summary.getLifetimeSpend());
+        summaryDTO.setLastOrderDate(summary.getLastOrderDate());
+        summaryDTO.setRecentOrders(readRecentOrders(summary));
+        return summaryDTO;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.dto.OrderDTO;
+import com.ecommerce.order_service.dto.OrderEventDTO;
+import com.ecommerce.order_service.model.OrderEvent;
+import com.ecommerce.order_service.repository.OrderEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Order change events for downstream consumers, recorded through the order_outbox table
+@Service
+public class OrderEventService {
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${order.events.settle-ms}")
+    private long settleMs;
+
+    // Must join the transaction that changes the order, so the event commits (or rolls back) with it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEvent.EventType eventType, OrderDTO order) {
+        orderEventRepository.save(newEvent(eventType, order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OrderEvent.EventType eventType, List<OrderDTO> orders) {
+        orderEventRepository.saveAll(orders.stream()
+                .map(order -> newEvent(eventType, order))
+                .collect(Collectors.toList()));
+    }
+
+    // Events with id > afterId in id order. Events younger than the settle window are held back, so an
+    // event whose transaction committed after a later-numbered one is usually not skipped by the consumer's
+    // cursor; getRecentEvents lets the consumer catch the ones that commit later than that.
+    @Transactional(readOnly = true)
+    public List<OrderEventDTO> getEventsAfter(long afterId, int limit) {
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+        return orderEventRepository.findEventsAfter(afterId, settledBefore, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Events with afterId < id <= upToId recorded in the last withinMs, in id order: a lookback over ids the
+    // consumer's cursor has already passed, for transactions that committed behind a later-numbered event
+    @Transactional(readOnly = true)
+    public List<OrderEventDTO> getRecentEvents(long afterId, long upToId, long withinMs, int limit) {
+        LocalDateTime recordedFrom = LocalDateTime.now().minusNanos(withinMs * 1_000_000);
+        return orderEventRepository.findEventsRecordedSince(afterId, upToId, recordedFrom, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private OrderEvent newEvent(OrderEvent.EventType eventType, OrderDTO order) {
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(order.getId());
+        event.setEventType(eventType);
+        event.setCreatedAt(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(order));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + order.getId(), e);
+        }
+        return event;
+    }
+
+    private OrderEventDTO convertToDTO(OrderEvent event) {
+        OrderEventDTO eventDTO = new OrderEventDTO();
+        eventDTO.setId(event.getId());
+        eventDTO.setOrderId(event.getOrderId());
+        eventDTO.setEventType(event.getEventType());
+        eventDTO.setCreatedAt(event.getCreatedAt());
+        eventDTO.setOrder(event.getPayload());
+        return eventDTO;
+    }
+}
@@ -2,64 +2,326 @@ package com.ecommerce.order_service.service;
 
 import com.ecommerce.order_service.dto.*;
 import com.ecommerce.order_service.model.Order;
+import com.ecommerce.order_service.model.OrderEvent;
 import com.ecommerce.order_service.model.OrderItem;
 import com.ecommerce.order_service.repository.OrderRepository;
+import com.ecommerce.order_service.repository.OrderSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.BeanUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+    private static final int STATUS_UPDATE_CHUNK = 1000;
+    private static final LocalDateTime EXPORT_MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private ProductLookupService productLookupService;
 
-    @Value("${product.service.url}")
-    private String productServiceUrl;
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private CustomerSummaryService customerSummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
+    @Value("${order.bulk.chunk-size}")
+    private int bulkChunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
+        return orderRepository.findAllWithItems().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Keyset page over (orderDate, id): the cursor marks the last row of the previous page,
+    // so deep pages cost the same as the first one. Items are batch-fetched (hibernate.default_batch_fetch_size).
+    @Transactional(readOnly = true)
+    public OrderPageDTO getOrderPage(String cursor, int size, Order.OrderStatus status, String customerEmail,
+                                     LocalDateTime from, LocalDateTime to, boolean descending) {
+        LocalDateTime cursorDate = null;
+        String cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            cursorDate = LocalDateTime.parse(parts[0]);
+            cursorId = parts[1];
+        }
+
+        Specification<Order> spec = Specification.where(OrderSpecifications.hasStatus(status))
+                .and(OrderSpecifications.hasCustomerEmail(customerEmail))
+                .and(OrderSpecifications.placedBetween(from, to))
+                .and(OrderSpecifications.after(cursorDate, cursorId, descending));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, "orderDate").and(Sort.by(direction, "id"));
+
+        // Fetch one extra row to learn whether another page follows
+        List<Order> orders = orderRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasMore = orders.size() > size;
+        if (hasMore) {
+            orders = orders.subList(0, size);
+        }
+
+        OrderPageDTO page = new OrderPageDTO();
+        page.setItems(orders.stream().map(this::convertToDTO).collect(Collectors.toList()));
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            Order last = orders.get(orders.size() - 1);
+            String key = last.getOrderDate() + "|" + last.getId();
+            page.setNextCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8)));
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
     public Optional<OrderDTO> getOrderById(String id) {
         return orderRepository.findById(id)
                 .map(this::convertToDTO);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByCustomerEmail(String email) {
-        return orderRepository.findByCustomerEmail(email).stream()
+        return orderRepository.findByCustomerEmailWithItems(email).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        return orderRepository.findByOrderDateBetweenWithItems(from, to).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Write matching orders as newline-delimited JSON, one order at a time, so memory stays flat.
+    // byRecordedAt windows on when the orders were stored instead of when they were placed.
+    @Transactional(readOnly = true)
+    public void exportOrders(LocalDateTime from, LocalDateTime to, boolean byRecordedAt, OutputStream out) throws IOException {
+        LocalDateTime start = from != null ? from : EXPORT_MIN_DATE;
+        LocalDateTime end = to != null ? to : EXPORT_MAX_DATE;
+        try (Stream<Order> orders = byRecordedAt
+                ? orderRepository.streamByRecordedAtBetweenOrderByRecordedAtAscIdAsc(start, end)
+                : from == null && to == null
+                ? orderRepository.streamAllByOrderByOrderDateAscIdAsc()
+                : orderRepository.streamByOrderDateBetweenOrderByOrderDateAscIdAsc(start, end)) {
+            int written = 0;
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                out.write(objectMapper.writeValueAsBytes(convertToDTO(order)));
+                out.write('\n');
+                entityManager.detach(order);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
+
     public OrderDTO createOrder(OrderRequest orderRequest) {
+        // Resolve all line items against product-service in one concurrent step, before the transaction
+        // starts, so no database connection is held during the remote calls
+        Map<String, ProductDTO> products = productLookupService.getProducts(orderRequest.getItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toList()));
+        Order order = buildOrder(orderRequest, products, LocalDateTime.now());
+        // The customer's summary row must exist before the transaction locks it
+        customerSummaryService.ensureSummaries(List.of(order.getCustomerEmail()));
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            OrderDTO savedOrderDTO = convertToDTO(orderRepository.save(order));
+            orderEventService.record(OrderEvent.EventType.ORDER_CREATED, savedOrderDTO);
+            customerSummaryService.onOrdersCreated(List.of(savedOrderDTO));
+            return savedOrderDTO;
+        });
+    }
+
+    // Replay a large batch of orders (JSON array or NDJSON, read lazily). Each chunk resolves its products
+    // once and commits in its own transaction with JDBC-batched inserts; a failed chunk does not undo earlier ones.
+    public BulkOrderResponseDTO bulkCreateOrders(Iterator<OrderRequest> requests) {
+        long startedAt = System.nanoTime();
+        BulkOrderResponseDTO response = new BulkOrderResponseDTO();
+        List<OrderRequest> chunk = new ArrayList<>(bulkChunkSize);
+        while (true) {
+            OrderRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                // Malformed input: keep what was committed, still process the orders read so far,
+                // and report where reading stopped
+                response.setError("Could not read order at index " + (response.getReceived() + chunk.size())
+                        + ": " + e.getMessage());
+                break;
+            }
+            chunk.add(request);
+            if (chunk.size() == bulkChunkSize) {
+                createOrderChunk(chunk, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createOrderChunk(chunk, response);
+        }
+
+        response.getResults().sort(Comparator.comparingInt(BulkOrderResultDTO::getIndex));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setOrdersPerSecond(elapsedMillis > 0 ? response.getCreated() * 1000.0 / elapsedMillis : response.getCreated());
+        log.info("Bulk order ingestion: {} received, {} created, {} rejected, {} failed in {} ms",
+                response.getReceived(), response.getCreated(), response.getRejected(), response.getFailed(), elapsedMillis);
+        return response;
+    }
+
+    private void createOrderChunk(List<OrderRequest> chunk, BulkOrderResponseDTO response) {
+        int firstIndex = response.getReceived();
+        response.setReceived(firstIndex + chunk.size());
+
+        Map<String, ProductDTO> products;
+        try {
+            products = productLookupService.getProductsInBatch(chunk.stream()
+                    .filter(request -> request.getItems() != null)
+                    .flatMap(request -> request.getItems().stream())
+                    .map(OrderItemRequest::getProductId)
+                    .collect(Collectors.toSet()));
+        } catch (RuntimeException e) {
+            // product-service unavailable: nothing in this chunk can be priced, so it fails as a whole
+            log.warn("Product lookup for bulk order chunk starting at index {} failed", firstIndex, e);
+            List<Integer> indexes = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                indexes.add(firstIndex + i);
+            }
+            markFailed(indexes, e, response);
+            return;
+        }
+
+        // Unlike single checkout, a replayed order with an unknown product is rejected rather than trimmed
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(chunk.size());
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderRequest request = chunk.get(i);
+            String problem = validateBulkOrder(request, products);
+            if (problem != null) {
+                response.getResults().add(new BulkOrderResultDTO(firstIndex + i, null, BulkOrderResultDTO.Status.REJECTED, problem));
+                response.setRejected(response.getRejected() + 1);
+                continue;
+            }
+            orders.add(buildOrder(request, products, request.getOrderDate() != null ? request.getOrderDate() : now));
+            indexes.add(firstIndex + i);
+        }
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        try {
+            customerSummaryService.ensureSummaries(orders.stream()
+                    .map(Order::getCustomerEmail)
+                    .collect(Collectors.toList()));
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<OrderDTO> savedOrders = orderRepository.saveAll(orders).stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList());
+                orderEventService.recordAll(OrderEvent.EventType.ORDER_CREATED, savedOrders);
+                customerSummaryService.onOrdersCreated(savedOrders);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk order chunk starting at index {} failed", firstIndex, e);
+            markFailed(indexes, e, response);
+            return;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            response.getResults().add(new BulkOrderResultDTO(indexes.get(i), orders.get(i).getId(), BulkOrderResultDTO.Status.CREATED, null));
+        }
+        response.setCreated(response.getCreated() + orders.size());
+    }
+
+    private void markFailed(List<Integer> indexes, RuntimeException error, BulkOrderResponseDTO response) {
+        for (int index : indexes) {
+            response.getResults().add(new BulkOrderResultDTO(index, null, BulkOrderResultDTO.Status.FAILED, error.getMessage()));
+        }
+        response.setFailed(response.getFailed() + indexes.size());
+    }
+
+    private String validateBulkOrder(OrderRequest request, Map<String, ProductDTO> products) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return "Order has no items";
+        }
+        for (OrderItemRequest item : request.getItems()) {
+            if (item.getQuantity() <= 0) {
+                return "Invalid quantity for product " + item.getProductId();
+            }
+            if (!products.containsKey(item.getProductId())) {
+                return "Unknown product " + item.getProductId();
+            }
+        }
+        return null;
+    }
+
+    // Build a pending order from the request, skipping products that could not be resolved
+    private Order buildOrder(OrderRequest orderRequest, Map<String, ProductDTO> products, LocalDateTime orderDate) {
         Order order = new Order();
         order.setCustomerName(orderRequest.getCustomerName());
         order.setCustomerEmail(orderRequest.getCustomerEmail());
         order.setShippingAddress(orderRequest.getShippingAddress());
         order.setPhoneNumber(orderRequest.getPhoneNumber());
-        order.setOrderDate(LocalDateTime.now());
+        order.setOrderDate(orderDate);
+        order.setRecordedAt(LocalDateTime.now());
         order.setStatus(Order.OrderStatus.PENDING);
 
         double totalAmount = 0.0;
 
         for (OrderItemRequest itemRequest : orderRequest.getItems()) {
-            // Call Product Service to get the product details
-            ProductDTO product = restTemplate.getForObject(
-                    productServiceUrl + "/api/products/" + itemRequest.getProductId(),
-                    ProductDTO.class
-            );
+            ProductDTO product = products.get(itemRequest.getProductId());
 
             if (product != null) {
                 OrderItem orderItem = new OrderItem();
@@ -81,21 +343,56 @@ public class OrderService {
         }
 
         order.setTotalAmount(totalAmount);
-
-        Order savedOrder = orderRepository.save(order);
-        return convertToDTO(savedOrder);
+        return order;
     }
 
+    @Transactional
     public OrderDTO updateOrderStatus(String id, Order.OrderStatus status) {
         Optional<Order> orderOptional = orderRepository.findById(id);
         if (orderOptional.isPresent()) {
             Order order = orderOptional.get();
+            Order.OrderStatus previousStatus = order.getStatus();
             order.setStatus(status);
-            return convertToDTO(orderRepository.save(order));
+            OrderDTO updatedOrderDTO = convertToDTO(orderRepository.save(order));
+            orderEventService.record(OrderEvent.EventType.STATUS_CHANGED, updatedOrderDTO);
+            customerSummaryService.onStatusChanged(List.of(updatedOrderDTO), previousStatus);
+            return updatedOrderDTO;
         }
         return null; // Or throw exception
     }
 
+    // Move many orders from one status to another with set-based UPDATEs (IN lists of at most
+    // STATUS_UPDATE_CHUNK ids) instead of a load and save per order. Ids that are unknown or no longer
+    // in the expected status are reported back untouched.
+    @Transactional
+    public BulkStatusUpdateResultDTO updateOrderStatuses(List<String> ids, Order.OrderStatus expectedStatus,
+                                                         Order.OrderStatus newStatus) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Set<String> transitioned = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += STATUS_UPDATE_CHUNK) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + STATUS_UPDATE_CHUNK, distinctIds.size()));
+            List<String> lockedIds = orderRepository.lockIdsWithStatus(chunk, expectedStatus);
+            if (lockedIds.isEmpty()) {
+                continue;
+            }
+            orderRepository.updateStatusWhereStatus(lockedIds, expectedStatus, newStatus);
+            List<OrderDTO> updatedOrders = orderRepository.findByIdInWithItems(lockedIds).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            orderEventService.recordAll(OrderEvent.EventType.STATUS_CHANGED, updatedOrders);
+            customerSummaryService.onStatusChanged(updatedOrders, expectedStatus);
+            transitioned.addAll(lockedIds);
+        }
+
+        BulkStatusUpdateResultDTO result = new BulkStatusUpdateResultDTO();
+        result.setRequested(distinctIds.size());
+        result.setUpdated(transitioned.size());
+        result.setNotTransitioned(distinctIds.stream()
+                .filter(id -> !transitioned.contains(id))
+                .collect(Collectors.toList()));
+        return result;
+    }
+
     public void deleteOrder(String id) {
         orderRepository.deleteById(id);
     }
@@ -0,0 +1,228 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.dto.CatalogChangesDTO;
+import com.ecommerce.order_service.dto.ProductDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+// Resolves the products of an order against product-service, through a small local price cache
+@Service
+public class ProductLookupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductLookupService.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("productLookupExecutor")
+    private ExecutorService executor;
+
+    @Value("${product.service.url}")
+    private String productServiceUrl;
+
+    @Value("${product.cache.max-entries}")
+    private int maxEntries;
+
+    @Value("${product.cache.ttl-ms}")
+    private long ttlMs;
+
+    @Value("${product.cache.max-stale-ms}")
+    private long maxStaleMs;
+
+    // LRU price cache; all access is synchronized on the map
+    private final Map<String, CachedProduct> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedProduct> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Position in product-service's change feed
+    private String catalogEpoch;
+    private long catalogVersion;
+
+    // Serve fresh cache entries directly and fetch the rest concurrently, so a basket costs about one
+    // round trip instead of N. If product-service fails or is too slow, recently cached prices are used.
+    // Products the service does not return are left out of the map.
+    public Map<String, ProductDTO> getProducts(Collection<String> productIds) {
+        long now = System.currentTimeMillis();
+        Map<String, ProductDTO> products = new HashMap<>();
+        Map<String, CachedProduct> stale = new HashMap<>();
+        Map<String, CompletableFuture<ProductDTO>> futures = new LinkedHashMap<>();
+
+        for (String productId : new LinkedHashSet<>(productIds)) {
+            CachedProduct cached;
+            synchronized (cache) {
+                cached = cache.get(productId);
+            }
+            if (cached != null && now - cached.fetchedAt <= ttlMs) {
+                products.put(productId, cached.product);
+                continue;
+            }
+            if (cached != null) {
+                stale.put(productId, cached);
+            }
+            // The RestTemplate's connect and read timeouts bound each call once it starts; time spent queued
+            // behind other lookups does not count against it
+            futures.put(productId, CompletableFuture.supplyAsync(() -> fetchProduct(productId), executor));
+        }
+
+        for (Map.Entry<String, CompletableFuture<ProductDTO>> entry : futures.entrySet()) {
+            String productId = entry.getKey();
+            try {
+                ProductDTO product = entry.getValue().join();
+                if (product != null) {
+                    products.put(productId, product);
+                    synchronized (cache) {
+                        cache.put(productId, new CachedProduct(product, System.currentTimeMillis()));
+                    }
+                }
+            } catch (CompletionException e) {
+                CachedProduct cached = stale.get(productId);
+                if (cached != null && now - cached.fetchedAt <= maxStaleMs && isUnavailable(e.getCause())) {
+                    products.put(productId, cached.product);
+                    continue;
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return products;
+    }
+
+    // Bulk variant for order replay: every uncached product is priced in one batch call on the caller's thread,
+    // so a large chunk neither fans out into one request per product nor queues ahead of checkout lookups.
+    // Falls back to recently cached prices the same way when product-service is unavailable.
+    public Map<String, ProductDTO> getProductsInBatch(Collection<String> productIds) {
+        long now = System.currentTimeMillis();
+        Map<String, ProductDTO> products = new HashMap<>();
+        Map<String, CachedProduct> stale = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        synchronized (cache) {
+            for (String productId : productIds) {
+                CachedProduct cached = cache.get(productId);
+                if (cached != null && now - cached.fetchedAt <= ttlMs) {
+                    products.put(productId, cached.product);
+                    continue;
+                }
+                if (cached != null) {
+                    stale.put(productId, cached);
+                }
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return products;
+        }
+
+        Map<String, ProductDTO> fetched;
+        try {
+            fetched = restTemplate.exchange(
+                    productServiceUrl + "/api/products/prices",
+                    HttpMethod.POST,
+                    new HttpEntity<>(missing),
+                    new ParameterizedTypeReference<Map<String, ProductDTO>>() {}
+            ).getBody();
+        } catch (RuntimeException e) {
+            if (!isUnavailable(e)) {
+                throw e;
+            }
+            for (String productId : missing) {
+                CachedProduct cached = stale.get(productId);
+                if (cached == null || now - cached.fetchedAt > maxStaleMs) {
+                    throw e;
+                }
+                products.put(productId, cached.product);
+            }
+            return products;
+        }
+        if (fetched != null) {
+            long fetchedAt = System.currentTimeMillis();
+            synchronized (cache) {
+                fetched.forEach((productId, product) -> cache.put(productId, new CachedProduct(product, fetchedAt)));
+            }
+            products.putAll(fetched);
+        }
+        return products;
+    }
+
+    // Evict products that changed in product-service since the last poll
+    @Scheduled(fixedDelayString = "${product.cache.poll-interval-ms}")
+    public void pollCatalogChanges() {
+        CatalogChangesDTO changes;
+        try {
+            changes = restTemplate.getForObject(
+                    productServiceUrl + "/api/products/changes?epoch={epoch}&since={since}",
+                    CatalogChangesDTO.class,
+                    catalogEpoch != null ? catalogEpoch : "",
+                    catalogVersion
+            );
+        } catch (RestClientException e) {
+            log.debug("Could not poll product changes: {}", e.getMessage());
+            return;
+        }
+        if (changes == null) {
+            return;
+        }
+        synchronized (cache) {
+            if (changes.isReset()) {
+                cache.clear();
+            } else {
+                changes.getProductIds().forEach(cache::remove);
+            }
+        }
+        catalogEpoch = changes.getEpoch();
+        catalogVersion = changes.getVersion();
+    }
+
+    private boolean isUnavailable(Throwable error) {
+        return error instanceof ResourceAccessException
+                || error instanceof HttpServerErrorException;
+    }
+
+    private ProductDTO fetchProduct(String productId) {
+        try {
+            return restTemplate.getForObject(
+                    productServiceUrl + "/api/products/" + productId + "/price",
+                    ProductDTO.class
+            );
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    private static final class CachedProduct {
+        final ProductDTO product;
+        final long fetchedAt;
+
+        CachedProduct(ProductDTO product, long fetchedAt) {
+            this.product = product;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.dto.CustomerOrderSummaryDTO;
+import com.ecommerce.order_service.dto.OrderDTO;
+import com.ecommerce.order_service.model.Order;
+import com.ecommerce.order_service.model.OrderItem;
+import com.ecommerce.order_service.repository.CustomerOrderSummaryRepository;
+import com.ecommerce.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A small pool, so a checkout that needs a second connection times out instead of passing unnoticed
+@SpringBootTest(properties = {
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.connection-timeout=2000"
+})
+class CustomerSummaryServiceTests {
+
+	private static final String EMAIL = "first-order@example.com";
+	private static final String OTHER_EMAIL = "other-first-order@example.com";
+
+	@Autowired
+	private CustomerSummaryService customerSummaryService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private CustomerOrderSummaryRepository summaryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		summaryRepository.deleteAll();
+		orderRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentFirstOrdersForTheSameCustomerBothCommit() throws Exception {
+		CountDownLatch firstHoldsLock = new CountDownLatch(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+
+		// The first checkout creates the customer's summary row and holds its lock while the second one starts
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> placeOrder(10.0, () -> {
+			firstHoldsLock.countDown();
+			await(releaseFirst);
+		}));
+		assertTrue(firstHoldsLock.await(10, TimeUnit.SECONDS));
+		CompletableFuture<Void> second = CompletableFuture.runAsync(() -> placeOrder(5.0, () -> { }));
+		Thread.sleep(200);
+		releaseFirst.countDown();
+
+		first.get(10, TimeUnit.SECONDS);
+		second.get(10, TimeUnit.SECONDS);
+
+		CustomerOrderSummaryDTO summary = customerSummaryService.getSummary(EMAIL);
+		assertEquals(2, summary.getOrderCount());
+		assertEquals(15.0, summary.getLifetimeSpend(), 0.001);
+		assertEquals(2, summary.getRecentOrders().size());
+	}
+
+	@Test
+	void firstOrdersOfDifferentCustomersHoldOneConnectionEach() throws Exception {
+		CountDownLatch bothInTransaction = new CountDownLatch(2);
+
+		// Both transactions hold their connection, using up the pool, before touching the summaries
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> placeOrder(EMAIL, 10.0, bothInTransaction));
+		CompletableFuture<Void> second = CompletableFuture.runAsync(() -> placeOrder(OTHER_EMAIL, 5.0, bothInTransaction));
+		first.get(10, TimeUnit.SECONDS);
+		second.get(10, TimeUnit.SECONDS);
+
+		assertEquals(1, customerSummaryService.getSummary(EMAIL).getOrderCount());
+		assertEquals(1, customerSummaryService.getSummary(OTHER_EMAIL).getOrderCount());
+		assertEquals(2, summaryRepository.count());
+	}
+
+	@Test
+	void placeholderLeftByARolledBackOrderIsBuiltOnRead() {
+		customerSummaryService.ensureSummaries(List.of(EMAIL));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			customerSummaryService.onOrdersCreated(List.of(saveOrder(EMAIL, 7.0)));
+			status.setRollbackOnly();
+		});
+		placeOrder(3.0, () -> { });
+
+		CustomerOrderSummaryDTO summary = customerSummaryService.getSummary(EMAIL);
+		assertEquals(1, summary.getOrderCount());
+		assertEquals(3.0, summary.getLifetimeSpend(), 0.001);
+	}
+
+	// Same order of steps as checkout: summary rows are created before the transaction starts
+	private void placeOrder(double amount, Runnable beforeCommit) {
+		customerSummaryService.ensureSummaries(List.of(EMAIL));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			customerSummaryService.onOrdersCreated(List.of(saveOrder(EMAIL, amount)));
+			beforeCommit.run();
+		});
+	}
+
+	private void placeOrder(String email, double amount, CountDownLatch inTransaction) {
+		customerSummaryService.ensureSummaries(List.of(email));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			OrderDTO order = saveOrder(email, amount);
+			inTransaction.countDown();
+			await(inTransaction);
+			customerSummaryService.onOrdersCreated(List.of(order));
+		});
+	}
+
+	private OrderDTO saveOrder(String email, double amount) {
+		Order order = new Order();
+		order.setCustomerEmail(email);
+		order.setOrderDate(LocalDateTime.now());
+		order.setStatus(Order.OrderStatus.PENDING);
+		order.setTotalAmount(amount);
+		OrderItem item = new OrderItem();
+		item.setProductId("p1");
+		item.setQuantity(1);
+		order.addItem(item);
+		Order saved = orderRepository.save(order);
+
+		OrderDTO orderDTO = new OrderDTO();
+		orderDTO.setId(saved.getId());
+		orderDTO.setCustomerEmail(email);
+		orderDTO.setOrderDate(saved.getOrderDate());
+		orderDTO.setStatus(saved.getStatus());
+		orderDTO.setTotalAmount(amount);
+		return orderDTO;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.model.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Query latency on orders/order_items with and without the indexes declared on Order and OrderItem.
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OrderIndexBenchmarkTests {
+
+	private static final int ORDERS = 1_000_000;
+	private static final int CUSTOMERS = 50_000;
+	private static final int MINUTES = 2 * 365 * 24 * 60;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 15;
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+	// idx_order_items_order_id stays: H2 backs the order_items foreign key with it, so it cannot be dropped here
+	private static final List<String> INDEXES = List.of("idx_orders_customer_email", "idx_orders_order_date_id",
+			"idx_orders_status_order_date");
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void compareQueryLatencyWithAndWithoutIndexes() {
+		loadOrders();
+
+		// Every run uses different parameters, so H2 cannot answer from its cached result of the previous run
+		Order.OrderStatus[] statuses = Order.OrderStatus.values();
+		IntFunction<LocalDateTime> time = run -> START.plusMinutes(60 + run * 7_919L % (MINUTES - 60));
+		Map<String, IntFunction<Integer>> queries = new LinkedHashMap<>();
+		queries.put("orders by customer email", run -> orderService.getOrdersByCustomerEmail(email(run * 7_919 % CUSTOMERS)).size());
+		queries.put("orders in a 1 hour range", run -> orderService.getOrdersBetween(time.apply(run).minusHours(1), time.apply(run)).size());
+		queries.put("page of 50, by status", run -> orderService.getOrderPage(null, 50, statuses[run % statuses.length], null,
+				null, time.apply(run), true).getItems().size());
+		queries.put("page of 50, date range", run -> orderService.getOrderPage(null, 50, null, null,
+				time.apply(run).minusHours(1), time.apply(run), true).getItems().size());
+
+		jdbcTemplate.execute("ANALYZE");
+		Map<String, double[]> indexed = measure(queries);
+		INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+		jdbcTemplate.execute("ANALYZE");
+		Map<String, double[]> unindexed = measure(queries);
+
+		System.out.printf("%norders, %,d rows + %,d items (median ms over %d runs)%n", ORDERS, ORDERS, MEASURED_RUNS);
+		System.out.printf("%-28s %12s %12s %10s%n", "query", "no index", "indexed", "speedup");
+		for (String name : queries.keySet()) {
+			double before = unindexed.get(name)[0];
+			double after = indexed.get(name)[0];
+			System.out.printf("%-28s %12.2f %12.2f %9.1fx%n", name, before, after, before / after);
+			// Same answers either way
+			assertEquals(unindexed.get(name)[1], indexed.get(name)[1]);
+		}
+	}
+
+	private void loadOrders() {
+		List<Object[]> orders = new ArrayList<>(10_000);
+		List<Object[]> items = new ArrayList<>(10_000);
+		for (int i = 0; i < ORDERS; i++) {
+			String orderId = "order-" + i;
+			double price = 1 + i % 20;
+			orders.add(new Object[] {
+					orderId,
+					"Customer " + i % CUSTOMERS,
+					email(i % CUSTOMERS),
+					"Address " + i,
+					"555-" + i,
+					Timestamp.valueOf(START.plusMinutes((long) i * MINUTES / ORDERS)),
+					i % Order.OrderStatus.values().length,
+					price * 2
+			});
+			items.add(new Object[] {"item-" + i, orderId, "p" + i % 200, "Product " + i % 200, 2, price, price * 2});
+			if (orders.size() == 10_000) {
+				insert(orders, items);
+			}
+		}
+		insert(orders, items);
+	}
+
+	private void insert(List<Object[]> orders, List<Object[]> items) {
+		jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_name, customer_email, shipping_address, phone_number, "
+				+ "order_date, status, total_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orders);
+		jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, product_id, product_name, quantity, unit_price, "
+				+ "total_price) VALUES (?, ?, ?, ?, ?, ?, ?)", items);
+		orders.clear();
+		items.clear();
+	}
+
+	private static String email(int customer) {
+		return "customer" + customer + "@example.com";
+	}
+
+	// Median latency in ms and the total result size for each query
+	private Map<String, double[]> measure(Map<String, IntFunction<Integer>> queries) {
+		Map<String, double[]> results = new LinkedHashMap<>();
+		for (Map.Entry<String, IntFunction<Integer>> query : queries.entrySet()) {
+			for (int run = 0; run < WARMUP_RUNS; run++) {
+				query.getValue().apply(run);
+			}
+			// Measured runs use the same parameters in both phases; their summed result sizes are compared
+			int size = 0;
+			double[] timings = new double[MEASURED_RUNS];
+			for (int i = 0; i < MEASURED_RUNS; i++) {
+				long startedAt = System.nanoTime();
+				size += query.getValue().apply(WARMUP_RUNS + i);
+				timings[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+			}
+			Arrays.sort(timings);
+			results.put(query.getKey(), new double[] {timings[MEASURED_RUNS / 2], size});
+		}
+		return results;
+	}
+}
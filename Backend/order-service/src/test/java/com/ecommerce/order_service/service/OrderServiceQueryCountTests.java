@@ -0,0 +1,106 @@
+package com.ecommerce.order_service.service;
+
+import com.ecommerce.order_service.dto.OrderDTO;
+import com.ecommerce.order_service.dto.OrderPageDTO;
+import com.ecommerce.order_service.model.Order;
+import com.ecommerce.order_service.model.OrderItem;
+import com.ecommerce.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderServiceQueryCountTests {
+
+	private static final int ORDER_COUNT = 250;
+	private static final int ITEMS_PER_ORDER = 3;
+	private static final String EMAIL = "query-count@example.com";
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		orderRepository.deleteAll();
+		List<Order> orders = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+		for (int i = 0; i < ORDER_COUNT; i++) {
+			Order order = new Order();
+			order.setCustomerEmail(EMAIL);
+			order.setOrderDate(start.plusMinutes(i));
+			order.setStatus(Order.OrderStatus.PENDING);
+			for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+				OrderItem item = new OrderItem();
+				item.setProductId("p" + j);
+				item.setQuantity(1);
+				order.addItem(item);
+			}
+			orders.add(order);
+		}
+		orderRepository.saveAll(orders);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void getAllOrdersUsesConstantStatements() {
+		List<OrderDTO> orders = orderService.getAllOrders();
+
+		assertEquals(ORDER_COUNT, orders.size());
+		assertTrue(orders.stream().allMatch(o -> o.getItems().size() == ITEMS_PER_ORDER));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void getOrdersByCustomerEmailUsesConstantStatements() {
+		List<OrderDTO> orders = orderService.getOrdersByCustomerEmail(EMAIL);
+
+		assertEquals(ORDER_COUNT, orders.size());
+		assertTrue(orders.stream().allMatch(o -> o.getItems().size() == ITEMS_PER_ORDER));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void orderPageBatchFetchesItems() {
+		OrderPageDTO page = orderService.getOrderPage(null, 100, null, null, null, null, true);
+
+		assertEquals(100, page.getItems().size());
+		assertTrue(page.getItems().stream().allMatch(o -> o.getItems().size() == ITEMS_PER_ORDER));
+		// One page query plus one batched item query
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void exportStreamsItemsWithOrders() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		orderService.exportOrders(null, null, false, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(ORDER_COUNT, lines.length);
+		for (String line : lines) {
+			assertEquals(ITEMS_PER_ORDER, line.split("\"productId\"").length - 1);
+		}
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
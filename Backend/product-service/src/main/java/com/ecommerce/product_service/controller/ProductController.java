@@ -1,24 +1,69 @@
 package com.ecommerce.product_service.controller;
 
+import com.ecommerce.product_service.dto.CatalogChangesDTO;
 import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.dto.ProductPageDTO;
+import com.ecommerce.product_service.dto.ProductPriceDTO;
+import com.ecommerce.product_service.dto.ProductSummaryDTO;
+import com.ecommerce.product_service.service.CatalogSnapshot;
 import com.ecommerce.product_service.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "*")  // For development; restrict in production
 public class ProductController {
 
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
     private ProductService productService;
 
+    // Full listings are written from pre-serialized snapshot bytes; If-None-Match with the current ETag gets a 304.
+    // With page or size, returns a ProductPageDTO instead (sort=field[,asc|desc], fields=id,name,...).
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<?> getAllProducts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (page != null || size != null) {
+            return productPage(null, page, size, sort, fields);
+        }
+        CatalogSnapshot catalog = productService.getCatalog();
+        return catalogResponse(request, catalog, catalog.getProductsJson());
+    }
+
+    // Products matching every word of q, best first (name > tags > description and ingredients)
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDTO>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.searchProducts(q, limit));
+    }
+
+    // Typeahead: most common indexed words starting with the last word of q
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 10) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.suggestSearchTerms(q, limit));
     }
 
     @GetMapping("/{id}")
@@ -28,9 +73,45 @@ public class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/price")
+    public ResponseEntity<ProductPriceDTO> getProductPrice(@PathVariable String id) {
+        return productService.getProductPrice(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Change feed for clients caching product data: ids changed since the given catalog version
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesDTO> getChanges(
+            @RequestParam(required = false) String epoch,
+            @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(productService.getChangesSince(epoch, since));
+    }
+
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(productService.getProductsByCategory(category));
+    public ResponseEntity<?> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (page != null || size != null) {
+            return productPage(category, page, size, sort, fields);
+        }
+        CatalogSnapshot catalog = productService.getCatalog();
+        return catalogResponse(request, catalog, catalog.getCategoryJson(category));
+    }
+
+    // Checkout prices for many products in one call, for bulk order replay; unknown ids are left out
+    @PostMapping("/prices")
+    public ResponseEntity<Map<String, ProductPriceDTO>> getProductPrices(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(productService.getProductPrices(ids));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, ProductSummaryDTO>> getProductSummaries(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(productService.getProductSummaries(ids));
     }
 
     @PostMapping
@@ -52,4 +133,27 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<ProductPageDTO> productPage(String category, Integer page, Integer size, String sort, String fields) {
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(productService.getProductPage(category, pageNumber, pageSize, sort, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<byte[]> catalogResponse(WebRequest request, CatalogSnapshot catalog, byte[] json) {
+        if (request.checkNotModified(catalog.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.getETag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.getETag())
+                .body(json);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ecommerce.product_service.dto;
+
+import java.util.List;
+
+public class CatalogChangesDTO {
+    private String epoch;
+    private long version;
+    private boolean reset;
+    private List<String> productIds;
+
+    // Default constructor
+    public CatalogChangesDTO() {
+    }
+
+    // Getters and setters
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+
+    public List<String> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<String> productIds) {
+        this.productIds = productIds;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.product_service.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProductPageDTO {
+    // Each item holds only the requested fields
+    private List<Map<String, Object>> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    // Default constructor
+    public ProductPageDTO() {
+    }
+
+    // Getters and setters
+    public List<Map<String, Object>> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Map<String, Object>> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
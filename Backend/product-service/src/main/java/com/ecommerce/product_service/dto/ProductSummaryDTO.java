@@ -0,0 +1,43 @@
+package com.ecommerce.product_service.dto;
+
+public class ProductSummaryDTO {
+    private String id;
+    private String name;
+    private String category;
+
+    // Default constructor
+    public ProductSummaryDTO() {
+    }
+
+    // Used by JPQL constructor expressions
+    public ProductSummaryDTO(String id, String name, String category) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
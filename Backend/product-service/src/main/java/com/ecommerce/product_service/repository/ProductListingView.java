@@ -0,0 +1,20 @@
+package com.ecommerce.product_service.repository;
+
+// Closed projection for listing pages: only these columns are selected, no description, nutrition or tags
+public interface ProductListingView {
+    String getId();
+
+    String getName();
+
+    double getPrice();
+
+    double getDiscountPrice();
+
+    boolean getIsDiscounted();
+
+    String getUnit();
+
+    String getImageUrl();
+
+    String getCategory();
+}
@@ -1,12 +1,32 @@
 package com.ecommerce.product_service.repository;
 
 import com.ecommerce.product_service.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String> {
     List<Product> findByCategory(String category);
     List<Product> findByIsDiscounted(boolean isDiscounted);
+    List<Product> findByExpirationDateLessThanEqual(LocalDate date);
+
+    // Paged listings through the ProductListingView projection
+    Page<ProductListingView> findAllBy(Pageable pageable);
+    Page<ProductListingView> findAllByCategory(String category, Pageable pageable);
+
+    // Catalog snapshot loads, with tags fetched in the same statement
+    @EntityGraph(attributePaths = "tags")
+    @Query("SELECT p FROM Product p")
+    List<Product> findAllWithTags();
+
+    @EntityGraph(attributePaths = "tags")
+    @Query("SELECT p FROM Product p WHERE p.id IN ?1")
+    List<Product> findAllWithTagsByIdIn(Collection<String> ids);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.CatalogChangesDTO;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Monotonic catalog version plus a bounded log of which product changed at each version.
+// Clients poll it to invalidate cached product data; the epoch changes on every restart.
+@Component
+public class CatalogChangeLog {
+
+    private static final int CAPACITY = 10_000;
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final String[] changedIds = new String[CAPACITY];
+    private long version;
+
+    public synchronized long record(String productId) {
+        version++;
+        changedIds[(int) (version % CAPACITY)] = productId;
+        return version;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    // Products changed after the given version; reset means the caller must drop everything it cached
+    public synchronized CatalogChangesDTO changesSince(String clientEpoch, long since) {
+        CatalogChangesDTO changes = new CatalogChangesDTO();
+        changes.setEpoch(epoch);
+        changes.setVersion(version);
+
+        boolean reset = !epoch.equals(clientEpoch) || since > version || version - since > CAPACITY;
+        changes.setReset(reset);
+
+        Set<String> productIds = new LinkedHashSet<>();
+        if (!reset) {
+            for (long v = since + 1; v <= version; v++) {
+                productIds.add(changedIds[(int) (v % CAPACITY)]);
+            }
+        }
+        changes.setProductIds(new ArrayList<>(productIds));
+        return changes;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.dto.ProductPriceDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Immutable view of the whole catalog: products in catalog order plus id, category and price indexes,
+// the pre-serialized listing responses and the search index.
+// Never modified once built; a change produces a new snapshot. The DTOs are shared, so treat them as read-only.
+public final class CatalogSnapshot {
+
+    private static final byte[] EMPTY_LIST_JSON = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final long version;
+    private final String eTag;
+    private final List<ProductDTO> products;
+    private final Map<String, ProductDTO> productsById;
+    private final Map<String, List<ProductDTO>> productsByCategory;
+    private final Map<String, ProductPriceDTO> pricesById;
+
+    // Listing responses serialized once per snapshot instead of once per request
+    private final byte[] productsJson;
+    private final Map<String, byte[]> categoriesJson;
+
+    private final ProductSearchIndex searchIndex;
+
+    private CatalogSnapshot(String epoch, long version, LinkedHashMap<String, ProductDTO> productsById,
+                            Map<String, ProductPriceDTO> pricesById, ProductSearchIndex searchIndex,
+                            CatalogSnapshot previous, Set<String> changedCategories, ObjectMapper objectMapper) {
+        this.version = version;
+        this.searchIndex = searchIndex;
+        // Strong validator: the epoch keeps versions from different process lifetimes apart
+        this.eTag = "\"" + epoch + "-" + version + "\"";
+        this.products = List.copyOf(productsById.values());
+        this.productsById = Map.copyOf(productsById);
+        this.productsByCategory = products.stream()
+                .filter(product -> product.getCategory() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(ProductDTO::getCategory, Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+        this.pricesById = Map.copyOf(pricesById);
+
+        this.productsJson = serialize(objectMapper, products);
+        Map<String, byte[]> categories = new HashMap<>();
+        productsByCategory.forEach((category, categoryProducts) -> categories.put(category,
+                previous != null && !changedCategories.contains(category)
+                        ? previous.categoriesJson.get(category)
+                        : serialize(objectMapper, categoryProducts)));
+        this.categoriesJson = Map.copyOf(categories);
+    }
+
+    static CatalogSnapshot of(String epoch, long version, Collection<ProductDTO> products, Collection<ProductPriceDTO> prices,
+                              ObjectMapper objectMapper) {
+        LinkedHashMap<String, ProductDTO> productsById = new LinkedHashMap<>();
+        products.forEach(product -> productsById.put(product.getId(), product));
+        return new CatalogSnapshot(epoch, version, productsById, prices.stream()
+                .collect(Collectors.toMap(ProductPriceDTO::getId, price -> price)),
+                ProductSearchIndex.of(productsById.values()), null, Set.of(), objectMapper);
+    }
+
+    // Copy with the given products replaced or added and the removed ids dropped
+    CatalogSnapshot withChanges(String epoch, long version, Collection<ProductDTO> changed,
+                                Collection<ProductPriceDTO> changedPrices, Set<String> removedIds, ObjectMapper objectMapper) {
+        LinkedHashMap<String, ProductDTO> nextProducts = new LinkedHashMap<>();
+        products.forEach(product -> nextProducts.put(product.getId(), product));
+
+        // Only categories that gain, lose or change a product are serialized again
+        Set<String> changedCategories = new HashSet<>();
+        for (String id : removedIds) {
+            ProductDTO removed = nextProducts.remove(id);
+            if (removed != null) {
+                changedCategories.add(removed.getCategory());
+            }
+        }
+        for (ProductDTO product : changed) {
+            ProductDTO replaced = nextProducts.put(product.getId(), product);
+            if (replaced != null) {
+                changedCategories.add(replaced.getCategory());
+            }
+            changedCategories.add(product.getCategory());
+        }
+
+        Map<String, ProductPriceDTO> nextPrices = new LinkedHashMap<>(pricesById);
+        removedIds.forEach(nextPrices::remove);
+        changedPrices.forEach(price -> nextPrices.put(price.getId(), price));
+        // The search index is updated incrementally too: only the changed products are re-tokenized
+        return new CatalogSnapshot(epoch, version, nextProducts, nextPrices,
+                searchIndex.withChanges(changed, removedIds), this, changedCategories, objectMapper);
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, List<ProductDTO> products) {
+        try {
+            return objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog", e);
+        }
+    }
+
+    // Incremented for every published snapshot
+    public long getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    // Shared buffers: callers must not modify them
+    public byte[] getProductsJson() {
+        return productsJson;
+    }
+
+    public byte[] getCategoryJson(String category) {
+        return categoriesJson.getOrDefault(category, EMPTY_LIST_JSON);
+    }
+
+    public List<ProductDTO> getProducts() {
+        return products;
+    }
+
+    public ProductDTO getProduct(String id) {
+        return productsById.get(id);
+    }
+
+    public List<ProductDTO> getProductsByCategory(String category) {
+        return productsByCategory.getOrDefault(category, List.of());
+    }
+
+    public ProductPriceDTO getPrice(String id) {
+        return pricesById.get(id);
+    }
+
+    public ProductSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+}
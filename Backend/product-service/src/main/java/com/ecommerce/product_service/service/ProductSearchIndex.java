@@ -0,0 +1,343 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Immutable inverted index over product name, tags, description and ingredients, with a prefix trie of the
+// indexed terms for typeahead. Like the catalog snapshot it is never modified: a change produces a new index
+// that shares every posting list and trie node the change did not touch.
+public final class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    // Heap order for top-k ranking: lowest score, then highest id, is evicted first
+    private static final Comparator<Map.Entry<String, Float>> WORST_FIRST =
+            Map.Entry.<String, Float>comparingByValue()
+                    .thenComparing(Map.Entry.<String, Float>comparingByKey().reversed());
+
+    // Completions kept per trie node; also how far the last query term is expanded as a prefix
+    private static final int COMPLETIONS_PER_NODE = 10;
+
+    // term -> products containing it
+    private final Map<String, PostingList> postings;
+    // product id -> its indexed terms, so a changed product can be unindexed without a scan
+    private final Map<String, Set<String>> termsByProduct;
+    private final TrieNode trie;
+
+    private ProductSearchIndex(Map<String, PostingList> postings, Map<String, Set<String>> termsByProduct,
+                               TrieNode trie) {
+        this.postings = postings;
+        this.termsByProduct = termsByProduct;
+        this.trie = trie;
+    }
+
+    static ProductSearchIndex of(Collection<ProductDTO> products) {
+        return new ProductSearchIndex(Map.of(), Map.of(), null).withChanges(products, Set.of());
+    }
+
+    // Copy with the given products (re)indexed and the removed ids dropped
+    ProductSearchIndex withChanges(Collection<ProductDTO> changed, Set<String> removedIds) {
+        Map<String, Set<String>> nextTerms = new HashMap<>(termsByProduct);
+        // Posting lists copied for this change, by term
+        Map<String, Map<String, Float>> updated = new HashMap<>();
+
+        Set<String> unindexed = new HashSet<>(removedIds);
+        changed.forEach(product -> unindexed.add(product.getId()));
+        for (String id : unindexed) {
+            Set<String> terms = nextTerms.remove(id);
+            if (terms != null) {
+                terms.forEach(term -> copyPostings(updated, term).remove(id));
+            }
+        }
+        for (ProductDTO product : changed) {
+            Map<String, Float> weights = termWeights(product);
+            nextTerms.put(product.getId(), Set.copyOf(weights.keySet()));
+            weights.forEach((term, weight) -> copyPostings(updated, term).put(product.getId(), weight));
+        }
+
+        Map<String, PostingList> nextPostings = new HashMap<>(postings);
+        updated.forEach((term, weights) -> {
+            if (weights.isEmpty()) {
+                nextPostings.remove(term);
+            } else {
+                nextPostings.put(term, new PostingList(weights));
+            }
+        });
+
+        TrieNode nextTrie;
+        if (trie == null) {
+            // First load: build the whole trie in one pass over the sorted terms
+            List<String> terms = nextPostings.keySet().stream().sorted().collect(Collectors.toList());
+            nextTrie = terms.isEmpty() ? null : buildTrie(terms, 0, nextPostings);
+        } else {
+            // Every touched term changed document frequency, so its path's completion rankings are recomputed
+            nextTrie = trie;
+            for (String term : updated.keySet()) {
+                nextTrie = updateTrie(nextTrie, term, 0, nextPostings);
+            }
+        }
+        return new ProductSearchIndex(Map.copyOf(nextPostings), Map.copyOf(nextTerms), nextTrie);
+    }
+
+    // Ids of the products matching every query term, best first. The last term is treated as a prefix
+    // that is still being typed, so "greek yog" finds Greek Yogurt.
+    public List<String> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<TokenMatch> matches = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            TokenMatch match = matchToken(tokens.get(i), i == tokens.size() - 1);
+            if (match.size == 0) {
+                return List.of();
+            }
+            matches.add(match);
+        }
+        // Walk the rarest term's products, highest weight first, and look the others up, keeping only the
+        // best `limit`. Once a product cannot beat the worst kept result even with the other terms' best
+        // scores, no later product in that list can either.
+        matches.sort(Comparator.comparingInt(match -> match.size));
+        TokenMatch rarest = matches.get(0);
+        float othersMaxScore = 0;
+        for (TokenMatch match : matches.subList(1, matches.size())) {
+            othersMaxScore += match.maxScore();
+        }
+        PriorityQueue<Map.Entry<String, Float>> best = new PriorityQueue<>(WORST_FIRST);
+        Set<String> seen = rarest.lists.size() > 1 ? new HashSet<>() : null;
+        for (int i = 0; i < rarest.lists.size(); i++) {
+            PostingList list = rarest.lists.get(i);
+            float idf = rarest.idfs.get(i);
+            candidates:
+            for (String id : list.ranked) {
+                if (best.size() == limit && list.weights.get(id) * idf + othersMaxScore < best.peek().getValue()) {
+                    break;
+                }
+                if (seen != null && !seen.add(id)) {
+                    continue;
+                }
+                float score = 0;
+                for (TokenMatch match : matches) {
+                    float tokenScore = match.score(id);
+                    if (tokenScore == 0) {
+                        continue candidates;
+                    }
+                    score += tokenScore;
+                }
+                best.add(Map.entry(id, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<String> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    // Most common indexed terms starting with the last word of the input
+    public List<String> suggest(String prefix, int limit) {
+        String[] words = prefix.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        if (words.length == 0 || words[words.length - 1].isEmpty()) {
+            return List.of();
+        }
+        TrieNode node = findNode(words[words.length - 1]);
+        if (node == null) {
+            return List.of();
+        }
+        return node.completions.subList(0, Math.min(limit, node.completions.size()));
+    }
+
+    // Posting lists of the term and, for a prefix, of its top completions, each with its rarity weight
+    private TokenMatch matchToken(String token, boolean prefix) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (postings.containsKey(token)) {
+            terms.add(token);
+        }
+        if (prefix) {
+            TrieNode node = findNode(token);
+            if (node != null) {
+                terms.addAll(node.completions);
+            }
+        }
+        TokenMatch match = new TokenMatch();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            match.lists.add(list);
+            match.idfs.add((float) Math.log(1 + (double) termsByProduct.size() / list.ranked.length));
+            match.size += list.ranked.length;
+        }
+        return match;
+    }
+
+    private Map<String, Float> copyPostings(Map<String, Map<String, Float>> updated, String term) {
+        return updated.computeIfAbsent(term, t -> new HashMap<>(postings.containsKey(t) ? postings.get(t).weights : Map.of()));
+    }
+
+    private static Map<String, Float> termWeights(ProductDTO product) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        if (product.getTags() != null) {
+            product.getTags().forEach(tag -> addTerms(weights, tag, TAG_WEIGHT));
+        }
+        addTerms(weights, product.getDescription(), TEXT_WEIGHT);
+        addTerms(weights, product.getIngredients(), TEXT_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        tokenize(text).forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+
+    // Lower-cased letter/digit runs; single characters carry too little to index
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> token.length() > 1)
+                .collect(Collectors.toList());
+    }
+
+    private TrieNode findNode(String prefix) {
+        TrieNode node = trie;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    // terms are sorted and share their first `depth` characters
+    private static TrieNode buildTrie(List<String> terms, int depth, Map<String, PostingList> postings) {
+        String nodeTerm = null;
+        int from = 0;
+        if (terms.get(0).length() == depth) {
+            nodeTerm = terms.get(0);
+            from = 1;
+        }
+        Map<Character, TrieNode> children = new HashMap<>();
+        while (from < terms.size()) {
+            char c = terms.get(from).charAt(depth);
+            int to = from + 1;
+            while (to < terms.size() && terms.get(to).charAt(depth) == c) {
+                to++;
+            }
+            children.put(c, buildTrie(terms.subList(from, to), depth + 1, postings));
+            from = to;
+        }
+        return trieNode(nodeTerm, Map.copyOf(children), postings);
+    }
+
+    // Path-copying update: returns a new node for each character of the term and reuses everything else.
+    // Returns null when the node ends up with no term and no children.
+    private static TrieNode updateTrie(TrieNode node, String term, int depth, Map<String, PostingList> postings) {
+        Map<Character, TrieNode> children = node != null ? node.children : Map.of();
+        String nodeTerm = node != null ? node.term : null;
+        if (depth == term.length()) {
+            nodeTerm = postings.containsKey(term) ? term : null;
+        } else {
+            char c = term.charAt(depth);
+            TrieNode child = updateTrie(children.get(c), term, depth + 1, postings);
+            Map<Character, TrieNode> nextChildren = new HashMap<>(children);
+            if (child != null) {
+                nextChildren.put(c, child);
+            } else {
+                nextChildren.remove(c);
+            }
+            children = Map.copyOf(nextChildren);
+        }
+        if (nodeTerm == null && children.isEmpty()) {
+            return null;
+        }
+        return trieNode(nodeTerm, children, postings);
+    }
+
+    private static TrieNode trieNode(String nodeTerm, Map<Character, TrieNode> children,
+                                     Map<String, PostingList> postings) {
+        // A node's best completions are among its own term and its children's best completions. A child not
+        // yet updated in this change can still list a removed term; the term's own update fixes this node later.
+        List<String> completions = Stream.concat(
+                        Stream.ofNullable(nodeTerm),
+                        children.values().stream().flatMap(child -> child.completions.stream()))
+                .filter(postings::containsKey)
+                .sorted(Comparator.<String>comparingInt(t -> postings.get(t).ranked.length).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(COMPLETIONS_PER_NODE)
+                .collect(Collectors.toUnmodifiableList());
+        return new TrieNode(nodeTerm, children, completions);
+    }
+
+    // Products containing one term: field-weighted term frequency by id, and the ids by descending weight
+    private static final class PostingList {
+        final Map<String, Float> weights;
+        final String[] ranked;
+
+        PostingList(Map<String, Float> weights) {
+            this.weights = Map.copyOf(weights);
+            this.ranked = weights.keySet().stream()
+                    .sorted(Comparator.<String, Float>comparing(weights::get).reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toArray(String[]::new);
+        }
+    }
+
+    // Matches of one query word: a product's score is its best weighted score across the lists
+    private static final class TokenMatch {
+        final List<PostingList> lists = new ArrayList<>();
+        final List<Float> idfs = new ArrayList<>();
+        int size;
+
+        float score(String id) {
+            float score = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                Float weight = lists.get(i).weights.get(id);
+                if (weight != null) {
+                    score = Math.max(score, weight * idfs.get(i));
+                }
+            }
+            return score;
+        }
+
+        float maxScore() {
+            float score = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                PostingList list = lists.get(i);
+                score = Math.max(score, list.weights.get(list.ranked[0]) * idfs.get(i));
+            }
+            return score;
+        }
+    }
+
+    private static final class TrieNode {
+        // Indexed term ending at this node, if any
+        final String term;
+        final Map<Character, TrieNode> children;
+        // Most common terms in this subtree, by number of products
+        final List<String> completions;
+
+        TrieNode(String term, Map<Character, TrieNode> children, List<String> completions) {
+            this.term = term;
+            this.children = children;
+            this.completions = completions;
+        }
+    }
+}
@@ -1,84 +1,341 @@
 package com.ecommerce.product_service.service;
 
+import com.ecommerce.product_service.dto.CatalogChangesDTO;
 import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.dto.ProductPageDTO;
+import com.ecommerce.product_service.dto.ProductPriceDTO;
+import com.ecommerce.product_service.dto.ProductSummaryDTO;
 import com.ecommerce.product_service.dto.NutritionInfoDTO;
 import com.ecommerce.product_service.model.Product;
+import com.ecommerce.product_service.repository.ProductListingView;
 import com.ecommerce.product_service.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
+    // Products expiring within this many days are discounted
+    private static final int DISCOUNT_WINDOW_DAYS = 15;
+
+    // Fields a paged listing can return, and the default set for grid views
+    private static final Map<String, Function<ProductListingView, Object>> LISTING_FIELDS = new LinkedHashMap<>();
+    private static final List<String> DEFAULT_LISTING_FIELDS = List.of("id", "name", "price", "imageUrl");
+    // Request sort keys -> entity properties
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "id", "id", "name", "name", "price", "price", "category", "category");
+
+    static {
+        LISTING_FIELDS.put("id", ProductListingView::getId);
+        LISTING_FIELDS.put("name", ProductListingView::getName);
+        LISTING_FIELDS.put("price", ProductListingView::getPrice);
+        LISTING_FIELDS.put("discountPrice", ProductListingView::getDiscountPrice);
+        LISTING_FIELDS.put("discounted", ProductListingView::getIsDiscounted);
+        LISTING_FIELDS.put("unit", ProductListingView::getUnit);
+        LISTING_FIELDS.put("imageUrl", ProductListingView::getImageUrl);
+        LISTING_FIELDS.put("category", ProductListingView::getCategory);
+    }
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CatalogChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Object catalogLock = new Object();
+
+    private volatile CatalogSnapshot catalog;
+
+    // Reads are served from the in-memory catalog snapshot without touching the database.
+    // Discounts are materialized by repriceProducts and on every write.
     public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::calculateDiscount)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getCatalog().getProducts();
     }
 
     public List<ProductDTO> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category).stream()
-                .map(this::calculateDiscount)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getCatalog().getProductsByCategory(category);
     }
 
     public Optional<ProductDTO> getProductById(String id) {
-        return productRepository.findById(id)
-                .map(this::calculateDiscount)
-                .map(this::convertToDTO);
+        return Optional.ofNullable(getCatalog().getProduct(id));
+    }
+
+    // Compact id -> name/category lookup for many products
+    public Map<String, ProductSummaryDTO> getProductSummaries(Collection<String> ids) {
+        CatalogSnapshot catalog = getCatalog();
+        Map<String, ProductSummaryDTO> summaries = new HashMap<>();
+        for (String id : ids) {
+            ProductDTO product = catalog.getProduct(id);
+            if (product != null) {
+                summaries.put(id, new ProductSummaryDTO(product.getId(), product.getName(), product.getCategory()));
+            }
+        }
+        return summaries;
     }
 
+    // Just the fields checkout needs, with the current discount applied
+    public Optional<ProductPriceDTO> getProductPrice(String id) {
+        return Optional.ofNullable(getCatalog().getPrice(id));
+    }
+
+    public Map<String, ProductPriceDTO> getProductPrices(Collection<String> ids) {
+        CatalogSnapshot catalog = getCatalog();
+        Map<String, ProductPriceDTO> prices = new HashMap<>();
+        for (String id : ids) {
+            ProductPriceDTO price = catalog.getPrice(id);
+            if (price != null) {
+                prices.put(id, price);
+            }
+        }
+        return prices;
+    }
+
+    // Ranked full-text search and typeahead, answered from the snapshot's search index
+    public List<ProductDTO> searchProducts(String query, int limit) {
+        CatalogSnapshot catalog = getCatalog();
+        return catalog.getSearchIndex().search(query, limit).stream()
+                .map(catalog::getProduct)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> suggestSearchTerms(String prefix, int limit) {
+        return getCatalog().getSearchIndex().suggest(prefix, limit);
+    }
+
+    // One page of the catalog (optionally one category) with only the requested listing fields.
+    // sort is "field" or "field,asc|desc"; fields is a comma-separated subset of LISTING_FIELDS.
+    @Transactional(readOnly = true)
+    public ProductPageDTO getProductPage(String category, int page, int size, String sort, String fields) {
+        List<String> selectedFields = fields == null || fields.isBlank()
+                ? DEFAULT_LISTING_FIELDS
+                : Arrays.stream(fields.split(",")).map(String::trim).distinct().collect(Collectors.toList());
+        for (String field : selectedFields) {
+            if (!LISTING_FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+        Page<ProductListingView> result = category == null
+                ? productRepository.findAllBy(pageable)
+                : productRepository.findAllByCategory(category, pageable);
+
+        ProductPageDTO pageDTO = new ProductPageDTO();
+        pageDTO.setItems(result.getContent().stream()
+                .map(view -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    selectedFields.forEach(field -> item.put(field, LISTING_FIELDS.get(field).apply(view)));
+                    return item;
+                })
+                .collect(Collectors.toList()));
+        pageDTO.setPage(page);
+        pageDTO.setSize(size);
+        pageDTO.setTotalElements(result.getTotalElements());
+        pageDTO.setTotalPages(result.getTotalPages());
+        return pageDTO;
+    }
+
+    // Only indexed or cheap columns may be sorted on; id breaks ties so pages are stable
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = SORTABLE_FIELDS.get(parts[0].trim());
+        if (property == null || parts.length > 2) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        Sort.Direction direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Unsupported sort direction: " + sort))
+                : Sort.Direction.ASC;
+        return property.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, property).and(Sort.by("id"));
+    }
+
+    // Current snapshot; readers never lock. Built on first use if the startup load has not published one yet.
+    public CatalogSnapshot getCatalog() {
+        CatalogSnapshot snapshot = catalog;
+        if (snapshot == null) {
+            synchronized (catalogLock) {
+                if (catalog == null) {
+                    rebuildCatalog();
+                }
+                snapshot = catalog;
+            }
+        }
+        return snapshot;
+    }
+
+    // Reload the whole catalog and publish it as a new snapshot (startup data load)
+    public void rebuildCatalog() {
+        synchronized (catalogLock) {
+            List<Product> products = loadProducts(null);
+            long version = catalog != null ? catalog.getVersion() + 1 : 1;
+            catalog = CatalogSnapshot.of(changeLog.getEpoch(), version,
+                    products.stream().map(this::convertToDTO).collect(Collectors.toList()),
+                    products.stream().map(this::convertToPriceDTO).collect(Collectors.toList()),
+                    objectMapper);
+        }
+    }
+
+    public CatalogChangesDTO getChangesSince(String epoch, long since) {
+        return changeLog.changesSince(epoch, since);
+    }
+
+    @Transactional
     public ProductDTO createProduct(ProductDTO productDTO) {
         Product product = convertToEntity(productDTO);
         // Set expiration date (for example, 30 days from now)
         product.setExpirationDate(LocalDate.now().plusDays(30));
+        applyDiscount(product, LocalDate.now());
         Product savedProduct = productRepository.save(product);
+        publishAfterCommit(List.of(savedProduct.getId()));
         return convertToDTO(savedProduct);
     }
 
+    @Transactional
     public ProductDTO updateProduct(String id, ProductDTO productDTO) {
-        if (productRepository.existsById(id)) {
+        Optional<Product> existing = productRepository.findById(id);
+        if (existing.isPresent()) {
             Product product = convertToEntity(productDTO);
             product.setId(id);
+            // The expiration date is not part of the DTO; keep the stored one so the discount tier still applies
+            product.setExpirationDate(existing.get().getExpirationDate());
+            applyDiscount(product, LocalDate.now());
             Product updatedProduct = productRepository.save(product);
+            publishAfterCommit(List.of(id));
             return convertToDTO(updatedProduct);
         }
         return null; // Or throw exception
     }
 
+    @Transactional
     public void deleteProduct(String id) {
         productRepository.deleteById(id);
+        publishAfterCommit(List.of(id));
     }
 
-    // Calculate discount based on expiration date
-    private Product calculateDiscount(Product product) {
-        if (product.getExpirationDate() != null) {
-            LocalDate now = LocalDate.now();
-            long daysUntilExpiration = ChronoUnit.DAYS.between(now, product.getExpirationDate());
-
-            if (daysUntilExpiration <= 3) {
-                product.setDiscountPrice(product.getPrice() * 0.75); // 25% off
-                product.setDiscounted(true);
-            } else if (daysUntilExpiration <= 7) {
-                product.setDiscountPrice(product.getPrice() * 0.80); // 20% off
-                product.setDiscounted(true);
-            } else if (daysUntilExpiration <= 15) {
-                product.setDiscountPrice(product.getPrice() * 0.90); // 10% off
-                product.setDiscounted(true);
+    // Daily re-pricing: move products into deeper expiry discount tiers as their expiration date nears.
+    // Also runs once at startup, after the catalog has been loaded.
+    @Scheduled(cron = "${pricing.reprice.cron}")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void repriceProducts() {
+        LocalDate today = LocalDate.now();
+        List<String> repricedIds = new ArrayList<>();
+        // Only products within the widest tier can change
+        for (Product product : productRepository.findByExpirationDateLessThanEqual(today.plusDays(DISCOUNT_WINDOW_DAYS))) {
+            if (applyDiscount(product, today)) {
+                repricedIds.add(product.getId());
             }
         }
-        return product;
+        if (!repricedIds.isEmpty()) {
+            publishAfterCommit(repricedIds);
+        }
+        log.info("Repriced {} products for {}", repricedIds.size(), today);
+    }
+
+    // Once the write is committed, swap the changed products into a new snapshot and only then announce them
+    // on the change log, so clients reacting to the change feed read the new data
+    private void publishAfterCommit(Collection<String> changedIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshCatalog(changedIds);
+                changedIds.forEach(changeLog::record);
+            }
+        });
+    }
+
+    // Copy-on-write update of the snapshot for the given ids; ids no longer in the database are dropped
+    private void refreshCatalog(Collection<String> changedIds) {
+        synchronized (catalogLock) {
+            if (catalog == null) {
+                rebuildCatalog();
+                return;
+            }
+            List<Product> products = loadProducts(changedIds);
+            Set<String> removedIds = new HashSet<>(changedIds);
+            products.forEach(product -> removedIds.remove(product.getId()));
+            catalog = catalog.withChanges(changeLog.getEpoch(), catalog.getVersion() + 1,
+                    products.stream().map(this::convertToDTO).collect(Collectors.toList()),
+                    products.stream().map(this::convertToPriceDTO).collect(Collectors.toList()),
+                    removedIds, objectMapper);
+        }
+    }
+
+    // Products with their tags, in a fresh read-only transaction (callers may run in afterCommit);
+    // null ids loads the whole catalog
+    private List<Product> loadProducts(Collection<String> ids) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> ids == null
+                ? productRepository.findAllWithTags()
+                : productRepository.findAllWithTagsByIdIn(ids));
+    }
+
+    // Apply the discount tier for the product's expiration date as of the given day; returns whether the price changed
+    private boolean applyDiscount(Product product, LocalDate today) {
+        if (product.getExpirationDate() == null) {
+            return false;
+        }
+        long daysUntilExpiration = ChronoUnit.DAYS.between(today, product.getExpirationDate());
+
+        double discountPrice;
+        if (daysUntilExpiration <= 3) {
+            discountPrice = product.getPrice() * 0.75; // 25% off
+        } else if (daysUntilExpiration <= 7) {
+            discountPrice = product.getPrice() * 0.80; // 20% off
+        } else if (daysUntilExpiration <= DISCOUNT_WINDOW_DAYS) {
+            discountPrice = product.getPrice() * 0.90; // 10% off
+        } else {
+            return false;
+        }
+        if (product.isDiscounted() && product.getDiscountPrice() == discountPrice) {
+            return false;
+        }
+        product.setDiscountPrice(discountPrice);
+        product.setDiscounted(true);
+        return true;
     }
 
     // Convert Entity to DTO
@@ -99,7 +356,7 @@ public class ProductService {
         productDTO.setShelfLife(product.getShelfLife());
         productDTO.setCountryOfOrigin(product.getCountryOfOrigin());
         productDTO.setSeller(product.getSeller());
-        productDTO.setTags(product.getTags());
+        productDTO.setTags(product.getTags() != null ? new ArrayList<>(product.getTags()) : null);
 
         // Handle the nutrition info explicitly
         if (product.getNutritionInfo() != null) {
@@ -116,6 +373,16 @@ public class ProductService {
         return productDTO;
     }
 
+    private ProductPriceDTO convertToPriceDTO(Product product) {
+        ProductPriceDTO priceDTO = new ProductPriceDTO();
+        priceDTO.setId(product.getId());
+        priceDTO.setName(product.getName());
+        priceDTO.setPrice(product.getPrice());
+        priceDTO.setDiscountPrice(product.getDiscountPrice());
+        priceDTO.setDiscounted(product.isDiscounted());
+        return priceDTO;
+    }
+
     // Convert DTO to Entity
     private Product convertToEntity(ProductDTO productDTO) {
         Product product = new Product();
@@ -3,6 +3,7 @@ package com.ecommerce.product_service.util;
 import com.ecommerce.product_service.model.NutritionInfo;
 import com.ecommerce.product_service.model.Product;
 import com.ecommerce.product_service.repository.ProductRepository;
+import com.ecommerce.product_service.service.ProductService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +27,9 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductService productService;
+
     @Override
     public void run(String... args) throws Exception {
         // Load only if the database is empty
@@ -111,6 +115,9 @@ public class DataLoader implements CommandLineRunner {
             productRepository.saveAll(allProducts);
             System.out.println("Loaded " + allProducts.size() + " products from JSON file");
 
+            // Publish the loaded catalog to the read path
+            productService.rebuildCatalog();
+
         } catch (IOException e) {
             System.err.println("Failed to load product data: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,126 @@
+package com.ecommerce.product_service.controller;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	void listingWithTheCurrentETagIsNotModified() throws Exception {
+		String eTag = mockMvc.perform(get("/api/products"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.id == 'fv1')].name").value("Fresh Apples"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag))
+				.andExpect(content().string(""));
+		// Category listings come from the same snapshot and share its tag
+		mockMvc.perform(get("/api/products/category/fruitsVeggies").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void aCommittedChangeInvalidatesTheETag() throws Exception {
+		String eTag = mockMvc.perform(get("/api/products/category/etag-test"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("[]"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		productService.createProduct(product("etag-1", "ETag Test Tea", "etag-test"));
+		try {
+			String newETag = mockMvc.perform(get("/api/products/category/etag-test").header(HttpHeaders.IF_NONE_MATCH, eTag))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[0].name").value("ETag Test Tea"))
+					.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+			assertNotEquals(eTag, newETag);
+
+			mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.ETAG, newETag));
+		} finally {
+			productService.deleteProduct("etag-1");
+		}
+	}
+
+	@Test
+	void pagesAreSortedAndProjected() throws Exception {
+		List<ProductDTO> snacks = productService.getCatalog().getProductsByCategory("snacks").stream()
+				.sorted(Comparator.comparing(ProductDTO::getPrice).reversed().thenComparing(ProductDTO::getId))
+				.collect(Collectors.toList());
+
+		mockMvc.perform(get("/api/products/category/snacks")
+						.param("page", "0").param("size", "2").param("sort", "price,desc").param("fields", "id,price"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(snacks.size()))
+				.andExpect(jsonPath("$.totalPages").value((snacks.size() + 1) / 2))
+				.andExpect(jsonPath("$.items[*].id").value(contains(snacks.get(0).getId(), snacks.get(1).getId())))
+				.andExpect(jsonPath("$.items[0].price").value(snacks.get(0).getPrice()))
+				.andExpect(jsonPath("$.items[0].name").doesNotExist());
+
+		// The last page holds the remainder
+		mockMvc.perform(get("/api/products/category/snacks")
+						.param("page", String.valueOf((snacks.size() - 1) / 2)).param("size", "2").param("sort", "price,desc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", hasSize(snacks.size() % 2 == 0 ? 2 : 1)))
+				.andExpect(jsonPath("$.items[-1:].id").value(contains(snacks.get(snacks.size() - 1).getId())));
+
+		// Size alone pages the whole catalog by id with the default fields
+		List<String> firstIds = productService.getCatalog().getProducts().stream()
+				.map(ProductDTO::getId).sorted().limit(3).collect(Collectors.toList());
+		mockMvc.perform(get("/api/products").param("size", "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.page").value(0))
+				.andExpect(jsonPath("$.items[*].id").value(contains(firstIds.toArray())))
+				.andExpect(jsonPath("$.items[0].name").exists())
+				.andExpect(jsonPath("$.items[0].imageUrl").exists())
+				.andExpect(jsonPath("$.items[0].category").doesNotExist());
+	}
+
+	@Test
+	void badPagingParametersAreRejected() throws Exception {
+		mockMvc.perform(get("/api/products").param("size", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/products").param("size", "201")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/products").param("page", "-1")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/products").param("page", "0").param("sort", "description")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/products").param("page", "0").param("sort", "price,sideways")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/products/category/snacks").param("page", "0").param("fields", "id,expirationDate"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static ProductDTO product(String id, String name, String category) {
+		ProductDTO product = new ProductDTO();
+		product.setId(id);
+		product.setName(name);
+		product.setCategory(category);
+		product.setPrice(2.5);
+		return product;
+	}
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import com.ecommerce.product_service.dto.ProductPriceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final CatalogSnapshot initial = CatalogSnapshot.of("epoch", 1, List.of(
+			product("f1", "Apple", "fruits"),
+			product("f2", "Pear", "fruits"),
+			product("d1", "Milk", "dairy"),
+			product("s1", "Chips", "snacks")), List.of(), objectMapper);
+
+	@Test
+	void unchangedCategoriesReuseTheirSerializedListing() {
+		CatalogSnapshot next = initial.withChanges("epoch", 2, List.of(product("f1", "Green Apple", "fruits")),
+				List.of(), Set.of(), objectMapper);
+
+		assertSame(initial.getCategoryJson("dairy"), next.getCategoryJson("dairy"));
+		assertSame(initial.getCategoryJson("snacks"), next.getCategoryJson("snacks"));
+		assertNotSame(initial.getCategoryJson("fruits"), next.getCategoryJson("fruits"));
+		assertTrue(json(next.getCategoryJson("fruits")).contains("Green Apple"));
+		assertTrue(json(next.getProductsJson()).contains("Green Apple"));
+		// The old snapshot still serves the old data
+		assertTrue(json(initial.getCategoryJson("fruits")).contains("\"Apple\""));
+	}
+
+	@Test
+	void movingOrRemovingAProductReserializesEveryCategoryItTouched() {
+		CatalogSnapshot moved = initial.withChanges("epoch", 2, List.of(product("d1", "Milk", "fruits")),
+				List.of(), Set.of(), objectMapper);
+		assertNotSame(initial.getCategoryJson("fruits"), moved.getCategoryJson("fruits"));
+		assertEquals("[]", json(moved.getCategoryJson("dairy")));
+		assertSame(initial.getCategoryJson("snacks"), moved.getCategoryJson("snacks"));
+		assertEquals(3, moved.getProductsByCategory("fruits").size());
+
+		CatalogSnapshot removed = moved.withChanges("epoch", 3, List.of(), List.of(), Set.of("s1"), objectMapper);
+		assertEquals("[]", json(removed.getCategoryJson("snacks")));
+		assertSame(moved.getCategoryJson("fruits"), removed.getCategoryJson("fruits"));
+		assertNull(removed.getProduct("s1"));
+		assertEquals(3, removed.getProducts().size());
+	}
+
+	@Test
+	void everyChangeGetsANewETag() {
+		ProductPriceDTO price = new ProductPriceDTO();
+		price.setId("f1");
+		price.setPrice(0.5);
+		CatalogSnapshot next = initial.withChanges("epoch", 2, List.of(), List.of(price), Set.of(), objectMapper);
+
+		assertEquals("\"epoch-1\"", initial.getETag());
+		assertEquals("\"epoch-2\"", next.getETag());
+		assertEquals(2, next.getVersion());
+		assertEquals(0.5, next.getPrice("f1").getPrice());
+		// A restarted process starts from version 1 again; the epoch keeps its tags apart
+		assertNotEquals(initial.getETag(), CatalogSnapshot.of("restarted", 1, initial.getProducts(), List.of(), objectMapper).getETag());
+	}
+
+	private static String json(byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static ProductDTO product(String id, String name, String category) {
+		ProductDTO product = new ProductDTO();
+		product.setId(id);
+		product.setName(name);
+		product.setCategory(category);
+		return product;
+	}
+}
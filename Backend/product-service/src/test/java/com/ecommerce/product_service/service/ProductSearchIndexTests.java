@@ -0,0 +1,120 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ProductSearchIndexTests {
+
+	@Test
+	void nameMatchesRankAboveTagAndDescriptionMatches() {
+		ProductSearchIndex index = ProductSearchIndex.of(List.of(
+				product("d1", "Oat Bar", List.of(), "made with honey"),
+				product("t1", "Granola", List.of("honey"), null),
+				product("n1", "Honey Jar", List.of(), null),
+				product("x1", "Apple", List.of(), "crisp")));
+
+		assertEquals(List.of("n1", "t1", "d1"), index.search("honey", 10));
+		assertEquals(List.of("n1"), index.search("honey", 1));
+	}
+
+	@Test
+	void everyWordMustMatchAndTheLastOneIsAPrefix() {
+		ProductSearchIndex index = ProductSearchIndex.of(List.of(
+				product("y1", "Greek Yogurt", List.of(), null),
+				product("y2", "Plain Yogurt", List.of(), null),
+				product("g1", "Greek Olives", List.of(), null)));
+
+		assertEquals(List.of("y1"), index.search("greek yog", 10));
+		assertEquals(Set.of("y1", "y2"), Set.copyOf(index.search("yog", 10)));
+		// Only the last word is completed
+		assertEquals(List.of(), index.search("gre yogurt", 10));
+		assertEquals(List.of(), index.search("greek cheese", 10));
+	}
+
+	@Test
+	void removedProductLeavesPostingsAndSuggestions() {
+		ProductSearchIndex index = ProductSearchIndex.of(List.of(
+				product("k1", "Kumquat", List.of(), null),
+				product("k2", "Kale", List.of(), null)));
+		assertEquals(List.of("kumquat"), index.suggest("kum", 5));
+
+		ProductSearchIndex next = index.withChanges(List.of(), Set.of("k1"));
+
+		assertEquals(List.of(), next.search("kumquat", 10));
+		assertEquals(List.of(), next.suggest("kum", 5));
+		assertEquals(List.of("kale"), next.suggest("k", 5));
+		// The previous index is unchanged
+		assertEquals(List.of("k1"), index.search("kumquat", 10));
+	}
+
+	@Test
+	void renamedProductIsOnlyFoundUnderItsNewName() {
+		ProductSearchIndex index = ProductSearchIndex.of(List.of(
+				product("p1", "Cheddar Cheese", List.of(), null),
+				product("p2", "Cheddar Crackers", List.of(), null)));
+
+		ProductSearchIndex next = index.withChanges(List.of(product("p1", "Gouda Cheese", List.of(), null)), Set.of());
+
+		assertEquals(List.of("p2"), next.search("cheddar", 10));
+		assertEquals(List.of("p1"), next.search("gouda", 10));
+		assertEquals(List.of("cheddar", "cheese"), next.suggest("che", 5));
+
+		ProductSearchIndex last = next.withChanges(List.of(product("p2", "Rye Crackers", List.of(), null)), Set.of());
+
+		assertEquals(List.of(), last.search("cheddar", 10));
+		assertFalse(last.suggest("ch", 5).contains("cheddar"));
+		assertEquals(List.of("cheese"), last.suggest("ch", 5));
+	}
+
+	@Test
+	void prunedTopResultsMatchAnExhaustiveRanking() {
+		String[] words = {"apple", "apricot", "banana", "berry", "bread", "butter", "cheese", "cherry", "cream",
+				"organic", "orange", "fresh", "frozen", "milk", "mint", "honey"};
+		Random random = new Random(7);
+		List<ProductDTO> products = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			products.add(product("p" + i, phrase(random, words, 1 + random.nextInt(3)),
+					List.of(phrase(random, words, 1)), phrase(random, words, random.nextInt(6))));
+		}
+		ProductSearchIndex index = ProductSearchIndex.of(products);
+		// Apply some changes too, so the pruned walk also runs over incrementally updated lists
+		List<ProductDTO> changed = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			changed.add(product("p" + (i * 10 + 5), phrase(random, words, 2), List.of(), phrase(random, words, 3)));
+		}
+		index = index.withChanges(changed, Set.of("p1", "p2", "p3"));
+
+		List<String> queries = List.of("apple", "ap", "be", "cherry cr", "fresh milk", "organic ch", "honey", "mi");
+		for (String query : queries) {
+			List<String> all = index.search(query, Integer.MAX_VALUE);
+			assertFalse(all.isEmpty(), query);
+			for (int limit : new int[] {1, 3, 10, 50}) {
+				assertEquals(all.subList(0, Math.min(limit, all.size())), index.search(query, limit), query + " / " + limit);
+			}
+		}
+	}
+
+	private static String phrase(Random random, String[] words, int length) {
+		StringBuilder phrase = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			phrase.append(words[random.nextInt(words.length)]).append(' ');
+		}
+		return phrase.toString().trim();
+	}
+
+	private static ProductDTO product(String id, String name, List<String> tags, String description) {
+		ProductDTO product = new ProductDTO();
+		product.setId(id);
+		product.setName(name);
+		product.setTags(tags);
+		product.setDescription(description);
+		return product;
+	}
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.product_service.service;
+
+import com.ecommerce.product_service.dto.CatalogChangesDTO;
+import com.ecommerce.product_service.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProductServiceCatalogTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void committedWritesPublishANewSnapshotBeforeTheChange() {
+		CatalogSnapshot before = productService.getCatalog();
+		CatalogChangesDTO start = productService.getChangesSince(null, 0);
+		ProductDTO created = productService.createProduct(product("snapshot-1", "Snapshot Test Loaf", "snapshot-test"));
+
+		CatalogSnapshot afterCreate = productService.getCatalog();
+		assertEquals(before.getVersion() + 1, afterCreate.getVersion());
+		assertEquals("Snapshot Test Loaf", afterCreate.getProduct(created.getId()).getName());
+		assertEquals(1, afterCreate.getProductsByCategory("snapshot-test").size());
+		assertNull(before.getProduct(created.getId()));
+
+		CatalogChangesDTO changes = productService.getChangesSince(start.getEpoch(), start.getVersion());
+		assertFalse(changes.isReset());
+		assertEquals(List.of(created.getId()), changes.getProductIds());
+
+		productService.updateProduct(created.getId(), product(null, "Snapshot Test Rye", "snapshot-test"));
+		CatalogSnapshot afterUpdate = productService.getCatalog();
+		assertEquals("Snapshot Test Rye", afterUpdate.getProduct(created.getId()).getName());
+		assertEquals(List.of(created.getId()), afterUpdate.getSearchIndex().search("snapshot rye", 10));
+		// Untouched products are shared between snapshots
+		String untouchedId = before.getProducts().get(0).getId();
+		assertSame(afterCreate.getProduct(untouchedId), afterUpdate.getProduct(untouchedId));
+
+		productService.deleteProduct(created.getId());
+		CatalogSnapshot afterDelete = productService.getCatalog();
+		assertNull(afterDelete.getProduct(created.getId()));
+		assertNull(afterDelete.getPrice(created.getId()));
+		assertTrue(afterDelete.getProductsByCategory("snapshot-test").isEmpty());
+		assertEquals(before.getProducts().size(), afterDelete.getProducts().size());
+		// One entry per write; the feed lists each product once
+		CatalogChangesDTO allChanges = productService.getChangesSince(start.getEpoch(), start.getVersion());
+		assertEquals(start.getVersion() + 3, allChanges.getVersion());
+		assertEquals(List.of(created.getId()), allChanges.getProductIds());
+	}
+
+	@Test
+	void rolledBackWritesAreNotPublished() {
+		CatalogSnapshot before = productService.getCatalog();
+		long version = productService.getChangesSince(null, 0).getVersion();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			productService.createProduct(product("snapshot-2", "Never Committed", "snapshot-test"));
+			status.setRollbackOnly();
+		});
+
+		assertSame(before, productService.getCatalog());
+		assertNull(before.getProduct("snapshot-2"));
+		assertEquals(version, productService.getChangesSince(null, 0).getVersion());
+	}
+
+	private static ProductDTO product(String id, String name, String category) {
+		ProductDTO product = new ProductDTO();
+		product.setId(id);
+		product.setName(name);
+		product.setCategory(category);
+		product.setPrice(4.0);
+		return product;
+	}
+}